@@ -17,6 +17,7 @@ package org.craigmcc.bookcase.client;
 
 import org.craigmcc.library.shared.exception.Forbidden;
 import org.craigmcc.library.shared.exception.InternalServerError;
+import org.junit.After;
 
 import static java.lang.Boolean.FALSE;
 import static java.lang.Boolean.TRUE;
@@ -30,6 +31,21 @@ public class AbstractClientTest {
 
     protected DevModeClient devModeClient = new DevModeClient();
 
+    // Lifecycle Methods -----------------------------------------------------
+
+    /**
+     * <p>Fail the test if it left any response unclosed, however recently
+     * it was received, when tracking is enabled by
+     * {@link ResponseTracker#THRESHOLD_PROPERTY}.</p>
+     */
+    @After
+    public void verifyResponses() {
+        ResponseTracker tracker = ResponseTracker.shared();
+        if (tracker != null) {
+            tracker.verifyClosed();
+        }
+    }
+
     // Protected Methods -----------------------------------------------------
 
     protected boolean depopulate() {
@@ -43,6 +59,13 @@ public class AbstractClientTest {
             depopulateEnabled = FALSE;
         } catch (InternalServerError e) {
             depopulateEnabled = FALSE;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AssertionError("Interrupted during depopulate", e);
+        } catch (Rejected e) {
+            throw new AssertionError("No lane slot free to depopulate", e);
+        } catch (Timeout e) {
+            throw new AssertionError("Server too slow to depopulate", e);
         }
         return depopulateEnabled;
     }
@@ -62,6 +85,13 @@ public class AbstractClientTest {
             populateEnabled = FALSE;
         } catch (InternalServerError e) {
             populateEnabled = FALSE;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AssertionError("Interrupted during populate", e);
+        } catch (Rejected e) {
+            throw new AssertionError("No lane slot free to populate", e);
+        } catch (Timeout e) {
+            throw new AssertionError("Server too slow to populate", e);
         }
         return populateEnabled;
     }
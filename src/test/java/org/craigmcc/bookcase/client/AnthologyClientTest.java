@@ -28,6 +28,7 @@ import java.util.List;
 
 import static java.lang.Boolean.TRUE;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.notNullValue;
@@ -106,10 +107,8 @@ public class AnthologyClientTest extends AbstractClientTest {
     @Test
     public void findHappy() throws Exception {
         List<Anthology> anthologies = anthologyClient.findAll();
-        for (Anthology anthology : anthologies) {
-            Anthology found = anthologyClient.find(anthology.getId());
-            assertThat(found.equals(anthology), is(true));
-        }
+        assertThat(new ConsistencyVerifier(8).verify(anthologies, Anthology::getId, anthologyClient::find),
+                is(empty()));
     }
 
     @Test
@@ -15,10 +15,7 @@
  */
 package org.craigmcc.bookcase.client;
 
-import org.craigmcc.bookcase.model.Anthology;
 import org.craigmcc.bookcase.model.Author;
-import org.craigmcc.bookcase.model.Book;
-import org.craigmcc.bookcase.model.Series;
 import org.craigmcc.library.shared.exception.BadRequest;
 import org.craigmcc.library.shared.exception.NotFound;
 import org.craigmcc.library.shared.exception.NotUnique;
@@ -27,9 +24,15 @@ import org.junit.Test;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import static java.lang.Boolean.TRUE;
+import static org.craigmcc.bookcase.client.Resource.ANTHOLOGIES;
+import static org.craigmcc.bookcase.client.Resource.AUTHORS;
+import static org.craigmcc.bookcase.client.Resource.BOOKS;
+import static org.craigmcc.bookcase.client.Resource.SERIES;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.notNullValue;
@@ -40,10 +43,8 @@ public class AuthorClientTest extends AbstractClientTest {
 
     // Instance Variables ----------------------------------------------------
 
-    private final AnthologyClient anthologyClient = new AnthologyClient();
     private final AuthorClient authorClient = new AuthorClient();
-    private final BookClient bookClient = new BookClient();
-    private final SeriesClient seriesClient = new SeriesClient();
+    private final CountClient countClient = new CountClient();
 
     // Lifecycle Methods -----------------------------------------------------
 
@@ -75,20 +76,17 @@ public class AuthorClientTest extends AbstractClientTest {
 
 /*          (Not true for actual test data)
             // Test data should not have any authors with no anthologies
-            List<Anthology> anthologies = findAnthologiesByAuthorId(author.getId());
-            assertThat(anthologies.size(), greaterThan(0));
+            assertThat(countClient.countByAuthorId(ANTHOLOGIES, author.getId()), greaterThan(0L));
 */
 
 /*          (Not true for actual test data)
             // Test data should not have any authors with no books
-            List<Book> books = findBooksByAuthorId(author.getId());
-            assertThat(books.size(), greaterThan(0));
+            assertThat(countClient.countByAuthorId(BOOKS, author.getId()), greaterThan(0L));
 */
 
 /*          (Not true for actual test data)
             // Test data should not have any authors with no series
-            List<Series> series = findSeriesByAuthorId(author.getId());
-            assertThat(series.size(), greaterThan(0));
+            assertThat(countClient.countByAuthorId(SERIES, author.getId()), greaterThan(0L));
 */
 
             // Delete and verify we can no longer retrieve it
@@ -97,14 +95,45 @@ public class AuthorClientTest extends AbstractClientTest {
                     () -> authorClient.find(author.getId()));
 
             // Delete should have cascaded to anthologies/books/series
-            assertThat(findAnthologiesByAuthorId(author.getId()).size(), is(0));
-            assertThat(findBooksByAuthorId(author.getId()).size(), is(0));
-            assertThat(findSeriesByAuthorId(author.getId()).size(), is(0));
+            assertThat(countClient.countByAuthorId(ANTHOLOGIES, author.getId()), is(0L));
+            assertThat(countClient.countByAuthorId(BOOKS, author.getId()), is(0L));
+            assertThat(countClient.countByAuthorId(SERIES, author.getId()), is(0L));
 
         }
 
         // We should have deleted all authors
-        assertThat(authorClient.findAll().size(), is(0));
+        assertThat(countClient.count(AUTHORS), is(0L));
+
+    }
+
+    @Test
+    public void deleteAllHappy() throws Exception {
+
+        if (disabled()) {
+            return;
+        }
+
+        List<Author> authors = authorClient.findAll();
+        assertThat(authors.size(), is(greaterThan(0)));
+        List<Long> ids = new ArrayList<>();
+        for (Author author : authors) {
+            ids.add(author.getId());
+        }
+
+        // Delete in the background, polling for progress
+        BulkDeleteJob job = BulkDeleteJob.start(ids, authorClient::delete, 4, 2);
+        while (!job.await(100, TimeUnit.MILLISECONDS)) {
+            assertThat(job.getFailures().size(), is(0));
+        }
+        assertThat(job.getFailures().size(), is(0));
+        assertThat(job.getCompleted(), is(ids.size()));
+        assertThat(job.getProgress(), is(1.0));
+
+        // Delete should have cascaded to anthologies/books/series
+        assertThat(countClient.count(AUTHORS), is(0L));
+        assertThat(countClient.count(ANTHOLOGIES), is(0L));
+        assertThat(countClient.count(BOOKS), is(0L));
+        assertThat(countClient.count(SERIES), is(0L));
 
     }
 
@@ -125,10 +154,8 @@ public class AuthorClientTest extends AbstractClientTest {
     @Test
     public void findHappy() throws Exception {
         List<Author> authors = authorClient.findAll();
-        for (Author author : authors) {
-            Author found = authorClient.find(author.getId());
-            assertThat(found.equals(author), is(true));
-        }
+        assertThat(new ConsistencyVerifier(8).verify(authors, Author::getId, authorClient::find),
+                is(empty()));
     }
 
     @Test
@@ -298,45 +325,12 @@ public class AuthorClientTest extends AbstractClientTest {
 
     // Private Methods -------------------------------------------------------
 
-    private List<Anthology> findAnthologiesByAuthorId(Long authorId) throws Exception {
-        List<Anthology> in = anthologyClient.findAll();
-        List<Anthology> out = new ArrayList<>();
-        for (Anthology check : in) {
-            if (authorId.equals(check.getAuthorId())) {
-                out.add(check);
-            }
-        }
-        return out;
-    }
-
     private Author findFirstAuthorByName(String name) throws Exception {
         List<Author> authors = authorClient.findByName(name);
         assertThat(authors.size(), is(greaterThan(0)));
         return authors.get(0);
     }
 
-    private List<Book> findBooksByAuthorId(Long authorId) throws Exception {
-        List<Book> in = bookClient.findAll();
-        List<Book> out = new ArrayList<>();
-        for (Book check : in) {
-            if (authorId.equals(check.getAuthorId())) {
-                out.add(check);
-            }
-        }
-        return out;
-    }
-
-    private List<Series> findSeriesByAuthorId(Long authorId) throws Exception {
-        List<Series> in = seriesClient.findAll();
-        List<Series> out = new ArrayList<>();
-        for (Series check : in) {
-            if (authorId.equals(check.getAuthorId())) {
-                out.add(check);
-            }
-        }
-        return out;
-    }
-
     private Author newAuthor() throws Exception {
         List<Author> authors = authorClient.findAll();
         assertThat(authors.size(), is(greaterThan(0)));
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2020 craigmcc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.craigmcc.bookcase.client;
+
+import org.craigmcc.bookcase.model.Author;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * <p>Prefix completion of author names, intended for use on every keystroke
+ * instead of calling <code>AuthorClient.findByName()</code>.  Authors are
+ * kept in a sorted array keyed by <code>lastName|firstName</code> (case
+ * insensitive), so a completion costs one binary search plus the number
+ * of results returned, which is never more than {@link #MAX_LIMIT}.</p>
+ */
+public class AuthorCompleter {
+
+    // Manifest Constants ----------------------------------------------------
+
+    /**
+     * <p>Hard upper bound on the number of completions returned.</p>
+     */
+    public static final int MAX_LIMIT = 50;
+
+    // Constructors ----------------------------------------------------------
+
+    public AuthorCompleter(List<Author> authors) {
+        Author[] sorted = authors.toArray(new Author[0]);
+        Arrays.sort(sorted, (a, b) -> key(a).compareTo(key(b)));
+        this.authors = sorted;
+        this.keys = new String[sorted.length];
+        for (int i = 0; i < sorted.length; i++) {
+            keys[i] = key(sorted[i]);
+        }
+    }
+
+    // Instance Variables ----------------------------------------------------
+
+    private final Author[] authors;
+    private final String[] keys;
+
+    // Public Methods --------------------------------------------------------
+
+    /**
+     * <p>Return up to <code>limit</code> authors whose
+     * <code>lastName|firstName</code> key starts with the specified prefix,
+     * in key order.</p>
+     *
+     * @param prefix Prefix to be matched (case insensitive)
+     * @param limit Maximum number of results (capped at {@link #MAX_LIMIT})
+     */
+    public List<Author> complete(String prefix, int limit) {
+        String query = prefix.toLowerCase(Locale.ROOT);
+        int max = Math.min(limit, MAX_LIMIT);
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid].compareTo(query) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        List<Author> results = new ArrayList<>(Math.max(max, 0));
+        for (int i = low; (i < keys.length) && (results.size() < max)
+                && keys[i].startsWith(query); i++) {
+            results.add(authors[i]);
+        }
+        return results;
+    }
+
+    public int size() {
+        return authors.length;
+    }
+
+    // Private Methods -------------------------------------------------------
+
+    private static String key(Author author) {
+        return (author.getLastName() + "|" + author.getFirstName()).toLowerCase(Locale.ROOT);
+    }
+
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2020 craigmcc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.craigmcc.bookcase.client;
+
+import org.craigmcc.bookcase.model.Author;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class AuthorCompleterTest {
+
+    // Instance Variables ----------------------------------------------------
+
+    private final AuthorCompleter completer = new AuthorCompleter(newAuthors());
+
+    // Test Methods ----------------------------------------------------------
+
+    // complete() tests
+
+    @Test
+    public void completeHappy() throws Exception {
+
+        List<Author> authors = completer.complete("flint", 10);
+        assertThat(authors.size(), is(3));
+        assertThat(authors.get(0).getFirstName(), is("Fred"));
+        assertThat(authors.get(1).getFirstName(), is("Pebbles"));
+        assertThat(authors.get(2).getFirstName(), is("Wilma"));
+
+        authors = completer.complete("Rubble|Ba", 10);
+        assertThat(authors.size(), is(2));
+        assertThat(authors.get(0).getFirstName(), is("Bam Bam"));
+        assertThat(authors.get(1).getFirstName(), is("Barney"));
+
+    }
+
+    @Test
+    public void completeLimit() throws Exception {
+        assertThat(completer.complete("", 2).size(), is(2));
+        assertThat(completer.complete("", 0).size(), is(0));
+        assertThat(completer.complete("", Integer.MAX_VALUE).size(), is(completer.size()));
+    }
+
+    @Test
+    public void completeNotFound() throws Exception {
+        assertThat(completer.complete("Slate", 10).size(), is(0));
+        assertThat(completer.complete("zzz", 10).size(), is(0));
+    }
+
+    // Private Methods -------------------------------------------------------
+
+    private List<Author> newAuthors() {
+        List<Author> authors = new ArrayList<>();
+        authors.add(new Author("Wilma", "Flintstone", null));
+        authors.add(new Author("Barney", "Rubble", null));
+        authors.add(new Author("Fred", "Flintstone", null));
+        authors.add(new Author("Betty", "Rubble", null));
+        authors.add(new Author("Pebbles", "Flintstone", null));
+        authors.add(new Author("Bam Bam", "Rubble", null));
+        return authors;
+    }
+
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2020 craigmcc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.craigmcc.bookcase.client;
+
+import org.craigmcc.bookcase.model.Anthology;
+import org.craigmcc.bookcase.model.Author;
+import org.craigmcc.bookcase.model.Book;
+import org.craigmcc.bookcase.model.Member;
+import org.craigmcc.bookcase.model.Series;
+import org.craigmcc.bookcase.model.Story;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>An {@link Author} together with whichever of its child entities were
+ * requested from {@link AuthorGraphClient}.  Collections that were not
+ * expanded are empty.</p>
+ */
+public class AuthorGraph {
+
+    // Constructors ----------------------------------------------------------
+
+    public AuthorGraph(Author author) {
+        this.author = author;
+    }
+
+    // Instance Variables ----------------------------------------------------
+
+    private final List<Anthology> anthologies = new ArrayList<>();
+    private final Author author;
+    private final List<Book> books = new ArrayList<>();
+    private final Map<Long, List<Member>> members = new HashMap<>();
+    private final List<Series> series = new ArrayList<>();
+    private final Map<Long, List<Story>> stories = new HashMap<>();
+
+    // Property Methods ------------------------------------------------------
+
+    public List<Anthology> getAnthologies() {
+        return anthologies;
+    }
+
+    public Author getAuthor() {
+        return author;
+    }
+
+    public List<Book> getBooks() {
+        return books;
+    }
+
+    /**
+     * <p>Return the members of the specified series (in ordinal order),
+     * or an empty list if there are none or members were not expanded.</p>
+     *
+     * @param seriesId ID of the series for which to return members
+     */
+    public List<Member> getMembers(Long seriesId) {
+        return members.getOrDefault(seriesId, new ArrayList<>());
+    }
+
+    public List<Series> getSeries() {
+        return series;
+    }
+
+    /**
+     * <p>Return the stories of the specified anthology (in ordinal order),
+     * or an empty list if there are none or stories were not expanded.</p>
+     *
+     * @param anthologyId ID of the anthology for which to return stories
+     */
+    public List<Story> getStories(Long anthologyId) {
+        return stories.getOrDefault(anthologyId, new ArrayList<>());
+    }
+
+    // Package Methods -------------------------------------------------------
+
+    void setMembers(Map<Long, List<Member>> members) {
+        this.members.putAll(members);
+    }
+
+    void setStories(Map<Long, List<Story>> stories) {
+        this.stories.putAll(stories);
+    }
+
+}
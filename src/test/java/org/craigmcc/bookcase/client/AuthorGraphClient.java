@@ -0,0 +1,119 @@
+/*
+ * Copyright 2020 craigmcc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.craigmcc.bookcase.client;
+
+import org.craigmcc.bookcase.model.Anthology;
+import org.craigmcc.bookcase.model.Author;
+import org.craigmcc.bookcase.model.Book;
+import org.craigmcc.bookcase.model.Series;
+import org.craigmcc.library.shared.exception.InternalServerError;
+import org.craigmcc.library.shared.exception.NotFound;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * <p>Load an {@link Author} and (optionally) its anthologies, books, series,
+ * members, and stories.  The server offers no lookups by author and no
+ * server-side expansion, so each expanded anthology, book, or series list
+ * costs one <code>findAll()</code> call filtered to this author.  Members
+ * and stories are only fetched for this author's own series and
+ * anthologies, one <code>findBySeriesId()</code> or
+ * <code>findByAnthologyId()</code> call per parent, so the member and story
+ * tables are never downloaded in full.</p>
+ */
+public class AuthorGraphClient {
+
+    // Manifest Constants ----------------------------------------------------
+
+    /**
+     * <p>Child collections that may be included in an {@link AuthorGraph}.
+     * Expanding members or stories implies expanding their parents.</p>
+     */
+    public enum Expand {
+        ANTHOLOGIES,
+        ANTHOLOGY_STORIES,
+        BOOKS,
+        SERIES,
+        SERIES_MEMBERS
+    }
+
+    // Instance Variables ----------------------------------------------------
+
+    private final AnthologyClient anthologyClient = new AnthologyClient();
+    private final AuthorClient authorClient = new AuthorClient();
+    private final BookClient bookClient = new BookClient();
+    private final LookupClient lookupClient = new LookupClient();
+    private final SeriesClient seriesClient = new SeriesClient();
+
+    // Public Methods --------------------------------------------------------
+
+    public AuthorGraph find(Long authorId, Expand... expands)
+            throws InternalServerError, NotFound {
+
+        Set<Expand> expanded = EnumSet.noneOf(Expand.class);
+        expanded.addAll(Arrays.asList(expands));
+        if (expanded.contains(Expand.ANTHOLOGY_STORIES)) {
+            expanded.add(Expand.ANTHOLOGIES);
+        }
+        if (expanded.contains(Expand.SERIES_MEMBERS)) {
+            expanded.add(Expand.SERIES);
+        }
+
+        AuthorGraph graph = new AuthorGraph(authorClient.find(authorId));
+
+        if (expanded.contains(Expand.ANTHOLOGIES)) {
+            List<Long> anthologyIds = new ArrayList<>();
+            for (Anthology anthology : anthologyClient.findAll()) {
+                if (authorId.equals(anthology.getAuthorId())) {
+                    graph.getAnthologies().add(anthology);
+                    anthologyIds.add(anthology.getId());
+                }
+            }
+            if (expanded.contains(Expand.ANTHOLOGY_STORIES)) {
+                graph.setStories(lookupClient.findStoriesByAnthologyIds(anthologyIds));
+            }
+        }
+
+        if (expanded.contains(Expand.BOOKS)) {
+            for (Book book : bookClient.findAll()) {
+                if (authorId.equals(book.getAuthorId())) {
+                    graph.getBooks().add(book);
+                }
+            }
+        }
+
+        if (expanded.contains(Expand.SERIES)) {
+            List<Long> seriesIds = new ArrayList<>();
+            for (Series series : seriesClient.findAll()) {
+                if (authorId.equals(series.getAuthorId())) {
+                    graph.getSeries().add(series);
+                    seriesIds.add(series.getId());
+                }
+            }
+            if (expanded.contains(Expand.SERIES_MEMBERS)) {
+                graph.setMembers(lookupClient.findMembersBySeriesIds(seriesIds));
+            }
+        }
+
+        return graph;
+
+    }
+
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2020 craigmcc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.craigmcc.bookcase.client;
+
+import org.craigmcc.bookcase.client.AuthorGraphClient.Expand;
+import org.craigmcc.bookcase.model.Anthology;
+import org.craigmcc.bookcase.model.Author;
+import org.craigmcc.bookcase.model.Member;
+import org.craigmcc.bookcase.model.Series;
+import org.craigmcc.library.shared.exception.NotFound;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+
+import static java.lang.Boolean.TRUE;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThrows;
+
+public class AuthorGraphClientTest extends AbstractClientTest {
+
+    // Instance Variables ----------------------------------------------------
+
+    private final AuthorClient authorClient = new AuthorClient();
+    private final AuthorGraphClient authorGraphClient = new AuthorGraphClient();
+    private final MemberClient memberClient = new MemberClient();
+    private final StoryClient storyClient = new StoryClient();
+
+    // Lifecycle Methods -----------------------------------------------------
+
+    @Before
+    public void before() {
+        if ((depopulateEnabled == null) || (TRUE == depopulateEnabled)) {
+            depopulate();
+        }
+        if ((populateEnabled == null) || (TRUE == populateEnabled)) {
+            populate();
+        }
+    }
+
+    // Test Methods ----------------------------------------------------------
+
+    // find() tests
+
+    @Test
+    public void findHappy() throws Exception {
+
+        List<Author> authors = authorClient.findAll();
+        assertThat(authors.size(), is(greaterThan(0)));
+
+        for (Author author : authors) {
+
+            AuthorGraph graph = authorGraphClient.find(author.getId(),
+                    Expand.ANTHOLOGY_STORIES, Expand.BOOKS, Expand.SERIES_MEMBERS);
+            assertThat(graph.getAuthor().equals(author), is(true));
+
+            for (Anthology anthology : graph.getAnthologies()) {
+                assertThat(anthology.getAuthorId(), is(author.getId()));
+                assertThat(graph.getStories(anthology.getId()).size(),
+                        is(storyClient.findByAnthologyId(anthology.getId()).size()));
+            }
+
+            for (Series series : graph.getSeries()) {
+                assertThat(series.getAuthorId(), is(author.getId()));
+                List<Member> expected = memberClient.findBySeriesId(series.getId());
+                List<Member> actual = graph.getMembers(series.getId());
+                assertThat(actual.size(), is(expected.size()));
+                for (int i = 0; i < actual.size(); i++) {
+                    assertThat(actual.get(i).equals(expected.get(i)), is(true));
+                }
+            }
+
+        }
+
+    }
+
+    @Test
+    public void findNoExpands() throws Exception {
+
+        List<Author> authors = authorClient.findAll();
+        assertThat(authors.size(), is(greaterThan(0)));
+
+        AuthorGraph graph = authorGraphClient.find(authors.get(0).getId());
+        assertThat(graph.getAuthor().equals(authors.get(0)), is(true));
+        assertThat(graph.getAnthologies().size(), is(0));
+        assertThat(graph.getBooks().size(), is(0));
+        assertThat(graph.getSeries().size(), is(0));
+
+    }
+
+    @Test
+    public void findNotFound() throws Exception {
+        assertThrows(NotFound.class,
+                () -> authorGraphClient.find(Long.MAX_VALUE, Expand.BOOKS));
+    }
+
+}
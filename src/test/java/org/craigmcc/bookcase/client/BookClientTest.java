@@ -17,15 +17,19 @@ package org.craigmcc.bookcase.client;
 
 import org.craigmcc.bookcase.model.Author;
 import org.craigmcc.bookcase.model.Book;
+import org.craigmcc.bookcase.model.Member;
+import org.craigmcc.bookcase.model.Story;
 import org.craigmcc.library.shared.exception.BadRequest;
 import org.craigmcc.library.shared.exception.NotFound;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import static java.lang.Boolean.TRUE;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.notNullValue;
@@ -38,8 +42,7 @@ public class BookClientTest extends AbstractClientTest {
 
     private final AuthorClient authorClient = new AuthorClient();
     private final BookClient bookClient = new BookClient();
-    private final MemberClient memberClient = new MemberClient();
-    private final StoryClient storyClient = new StoryClient();
+    private final LookupClient lookupClient = new LookupClient();
 
     // Lifecycle Methods -----------------------------------------------------
 
@@ -66,6 +69,7 @@ public class BookClientTest extends AbstractClientTest {
 
         List<Book> books = bookClient.findAll();
         assertThat(books.size(), is(greaterThan(0)));
+        List<Long> bookIds = new ArrayList<>();
 
         for (Book book : books) {
 
@@ -85,13 +89,17 @@ public class BookClientTest extends AbstractClientTest {
             bookClient.delete(book.getId());
             assertThrows(NotFound.class,
                     () -> bookClient.find(book.getId()));
+            bookIds.add(book.getId());
 
-            // Delete should have cascaded to members and stories
-/*          TODO - no endpoints or service methods for these two calls
-            assertThat(memberClient.findByBookId(book.getId()).size(), is(0));
-            assertThat(storyClient.findByBookId(book.getId()).size(), is(0));
-*/
+        }
 
+        // Delete should have cascaded to members and stories (one scan each,
+        // as there are no by-book endpoints to call per book)
+        for (List<Member> members : lookupClient.findMembersByBookIds(bookIds).values()) {
+            assertThat(members.size(), is(0));
+        }
+        for (List<Story> stories : lookupClient.findStoriesByBookIds(bookIds).values()) {
+            assertThat(stories.size(), is(0));
         }
 
         // We should have deleted all Books
@@ -116,10 +124,8 @@ public class BookClientTest extends AbstractClientTest {
     @Test
     public void findHappy() throws Exception {
         List<Book> books = bookClient.findAll();
-        for (Book book : books) {
-            Book found = bookClient.find(book.getId());
-            assertThat(found.equals(book), is(true));
-        }
+        assertThat(new ConsistencyVerifier(8).verify(books, Book::getId, bookClient::find),
+                is(empty()));
     }
 
     @Test
@@ -0,0 +1,203 @@
+/*
+ * Copyright 2020 craigmcc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.craigmcc.bookcase.client;
+
+import org.craigmcc.library.shared.exception.NotFound;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Background job that deletes many entities by id, such as
+ * <code>authorClient::delete</code> (which cascades to each author's
+ * anthologies, books, and series), in batches whose deletes run
+ * concurrently.  {@link #start} returns a handle immediately, which the
+ * caller can poll for progress, wait on, or cancel, so removing a large
+ * catalog never blocks the caller or runs into a single request timeout.</p>
+ *
+ * <p>A delete that fails with {@link NotFound} counts as completed, since
+ * the entity is gone either way.  Any other failure is recorded by id and
+ * the job carries on.</p>
+ */
+public class BulkDeleteJob {
+
+    // Nested Interfaces -----------------------------------------------------
+
+    /**
+     * <p>The delete call itself, such as <code>authorClient::delete</code>.</p>
+     */
+    @FunctionalInterface
+    public interface Delete {
+        void delete(Long id) throws Exception;
+    }
+
+    // Constructors ----------------------------------------------------------
+
+    private BulkDeleteJob(Collection<Long> ids, Delete delete, int batchSize, int threads) {
+        this.batchSize = batchSize;
+        this.delete = delete;
+        this.executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "bulk-delete");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.ids = new ArrayList<>(ids);
+    }
+
+    // Instance Variables ----------------------------------------------------
+
+    private final int batchSize;
+    private volatile boolean cancelled = false;
+    private int completed = 0;
+    private final Delete delete;
+    private final CountDownLatch done = new CountDownLatch(1);
+    private final ExecutorService executor;
+    private final Map<Long, Exception> failures = new LinkedHashMap<>();
+    private final List<Long> ids;
+
+    // Static Methods --------------------------------------------------------
+
+    /**
+     * <p>Start a job deleting the specified ids, and return its handle.</p>
+     *
+     * @param ids Ids of the entities to be deleted
+     * @param delete Call that deletes one entity
+     * @param batchSize Number of deletes in each batch
+     * @param threads Number of deletes in a batch performed at once
+     */
+    public static BulkDeleteJob start(Collection<Long> ids, Delete delete,
+                                      int batchSize, int threads) {
+        BulkDeleteJob job = new BulkDeleteJob(ids, delete, batchSize, threads);
+        Thread runner = new Thread(job::run, "bulk-delete-job");
+        runner.setDaemon(true);
+        runner.start();
+        return job;
+    }
+
+    // Property Methods ------------------------------------------------------
+
+    /**
+     * <p>Return the number of ids deleted so far.</p>
+     */
+    public synchronized int getCompleted() {
+        return completed;
+    }
+
+    /**
+     * <p>Return the failures so far, keyed by id.</p>
+     */
+    public synchronized Map<Long, Exception> getFailures() {
+        return Collections.unmodifiableMap(new LinkedHashMap<>(failures));
+    }
+
+    /**
+     * <p>Return the fraction of ids processed so far, successfully or not,
+     * from 0.0 to 1.0.</p>
+     */
+    public synchronized double getProgress() {
+        return ids.isEmpty() ? 1.0 : (double) (completed + failures.size()) / ids.size();
+    }
+
+    public int getTotal() {
+        return ids.size();
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public boolean isDone() {
+        return done.getCount() == 0;
+    }
+
+    // Public Methods --------------------------------------------------------
+
+    /**
+     * <p>Wait for this job to finish.</p>
+     *
+     * @param timeout Maximum time to wait
+     * @param unit Time unit of the timeout
+     *
+     * @return <code>true</code> if the job finished, or <code>false</code>
+     *  if the timeout elapsed first
+     *
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean await(long timeout, TimeUnit unit) throws InterruptedException {
+        return done.await(timeout, unit);
+    }
+
+    /**
+     * <p>Stop this job once the batch in progress has finished.  Deletes
+     * already performed are not undone.</p>
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    // Private Methods -------------------------------------------------------
+
+    private void run() {
+        try {
+            for (int start = 0; (start < ids.size()) && !cancelled; start += batchSize) {
+                List<Future<?>> futures = new ArrayList<>(batchSize);
+                for (Long id : ids.subList(start, Math.min(start + batchSize, ids.size()))) {
+                    futures.add(executor.submit(() -> {
+                        try {
+                            delete.delete(id);
+                            succeeded();
+                        } catch (NotFound e) {
+                            succeeded();
+                        } catch (Exception e) {
+                            failed(id, e);
+                        }
+                    }));
+                }
+                for (Future<?> future : futures) {
+                    try {
+                        future.get();
+                    } catch (ExecutionException e) {
+                        // Failures have already been recorded
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            cancelled = true;
+        } finally {
+            executor.shutdown();
+            done.countDown();
+        }
+    }
+
+    private synchronized void failed(Long id, Exception e) {
+        failures.put(id, e);
+    }
+
+    private synchronized void succeeded() {
+        completed++;
+    }
+
+}
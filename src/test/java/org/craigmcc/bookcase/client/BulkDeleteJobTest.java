@@ -0,0 +1,111 @@
+/*
+ * Copyright 2020 craigmcc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.craigmcc.bookcase.client;
+
+import org.craigmcc.library.shared.exception.InternalServerError;
+import org.craigmcc.library.shared.exception.NotFound;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+
+public class BulkDeleteJobTest {
+
+    // Instance Variables ----------------------------------------------------
+
+    private final Set<Long> deleted = ConcurrentHashMap.newKeySet();
+
+    // Test Methods ----------------------------------------------------------
+
+    // start() tests
+
+    @Test
+    public void startCancelled() throws Exception {
+
+        // Cancel while the first batch is in progress
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch proceed = new CountDownLatch(1);
+        BulkDeleteJob job = BulkDeleteJob.start(Arrays.asList(1L, 2L, 3L, 4L, 5L, 6L), id -> {
+            started.countDown();
+            proceed.await(5, TimeUnit.SECONDS);
+            deleted.add(id);
+        }, 2, 2);
+        assertThat(started.await(5, TimeUnit.SECONDS), is(true));
+        job.cancel();
+        proceed.countDown();
+        assertThat(job.await(5, TimeUnit.SECONDS), is(true));
+        assertThat(job.isCancelled(), is(true));
+        assertThat(job.getCompleted(), is(2));
+        assertThat(job.getProgress(), is(lessThan(1.0)));
+
+    }
+
+    @Test
+    public void startEmpty() throws Exception {
+
+        BulkDeleteJob job = BulkDeleteJob.start(Collections.emptyList(), deleted::add, 10, 2);
+        assertThat(job.await(5, TimeUnit.SECONDS), is(true));
+        assertThat(job.getProgress(), is(1.0));
+        assertThat(job.getTotal(), is(0));
+
+    }
+
+    @Test
+    public void startFailures() throws Exception {
+
+        BulkDeleteJob job = BulkDeleteJob.start(Arrays.asList(1L, 2L, 3L, 4L), id -> {
+            if (id == 2L) {
+                throw new NotFound("Missing " + id);
+            } else if (id == 3L) {
+                throw new InternalServerError("Failed " + id);
+            }
+            deleted.add(id);
+        }, 10, 2);
+        assertThat(job.await(5, TimeUnit.SECONDS), is(true));
+        assertThat(job.getCompleted(), is(3));
+        assertThat(job.getFailures().keySet(), contains(3L));
+        assertThat(job.getFailures().get(3L), is(instanceOf(InternalServerError.class)));
+        assertThat(job.getProgress(), is(1.0));
+        assertThat(deleted, containsInAnyOrder(1L, 4L));
+
+    }
+
+    @Test
+    public void startHappy() throws Exception {
+
+        List<Long> ids = Arrays.asList(1L, 2L, 3L, 4L, 5L, 6L, 7L);
+        BulkDeleteJob job = BulkDeleteJob.start(ids, deleted::add, 3, 2);
+        assertThat(job.await(5, TimeUnit.SECONDS), is(true));
+        assertThat(job.isDone(), is(true));
+        assertThat(job.getCompleted(), is(7));
+        assertThat(job.getFailures().size(), is(0));
+        assertThat(deleted, containsInAnyOrder(ids.toArray()));
+
+    }
+
+}
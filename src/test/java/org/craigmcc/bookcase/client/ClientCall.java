@@ -0,0 +1,30 @@
+/*
+ * Copyright 2020 craigmcc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.craigmcc.bookcase.client;
+
+/**
+ * <p>A single call to one of the entity clients, such as
+ * <code>() -&gt; authorClient.find(id)</code>, that can be timed or
+ * otherwise wrapped by the helpers in this package.</p>
+ *
+ * @param <T> Type of the value returned by the call
+ */
+@FunctionalInterface
+public interface ClientCall<T> {
+
+    T call() throws Exception;
+
+}
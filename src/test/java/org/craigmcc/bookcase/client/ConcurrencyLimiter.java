@@ -0,0 +1,182 @@
+/*
+ * Copyright 2020 craigmcc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.craigmcc.bookcase.client;
+
+import org.craigmcc.library.shared.exception.InternalServerError;
+
+import javax.ws.rs.ProcessingException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Adaptive limit on the number of client calls outstanding at once,
+ * shared by every caller that routes its calls (such as
+ * <code>BookClient.insert()</code> in a bulk load) through the same
+ * instance.  The limit follows an AIMD rule driven by observed latency:
+ * it grows by one after each call that answered promptly while the limit
+ * was at least half used, and shrinks by {@link #BACKOFF} after each call
+ * that took more than {@link #TOLERANCE} times the no-load latency, or
+ * that failed with {@link InternalServerError}, {@link Timeout}, or a
+ * {@link ProcessingException} (the form in which connector timeouts and
+ * refused connections arrive).</p>
+ *
+ * <p>A caller that finds the limit reached waits up to the queue timeout
+ * for a slot, then is rejected with {@link Rejected} without calling the
+ * server at all.</p>
+ */
+public class ConcurrencyLimiter {
+
+    // Manifest Constants ----------------------------------------------------
+
+    /**
+     * <p>Factor the limit is multiplied by after a slow or failed call.</p>
+     */
+    public static final double BACKOFF = 0.9;
+
+    /**
+     * <p>Multiple of the no-load latency beyond which a call is slow.</p>
+     */
+    public static final double TOLERANCE = 2.0;
+
+    // Latencies below this are treated as equal, whatever the actual values
+    private static final long MIN_RTT_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    // Calls per window used to track the no-load latency
+    private static final int WINDOW = 256;
+
+    // Constructors ----------------------------------------------------------
+
+    public ConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit,
+                              long queueTimeoutMillis) {
+        if ((minLimit < 1) || (initialLimit < minLimit) || (maxLimit < initialLimit)) {
+            throw new IllegalArgumentException("Limits must satisfy " +
+                    "1 <= minLimit <= initialLimit <= maxLimit");
+        }
+        this.limit = initialLimit;
+        this.maxLimit = maxLimit;
+        this.minLimit = minLimit;
+        this.queueTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(queueTimeoutMillis);
+    }
+
+    // Instance Variables ----------------------------------------------------
+
+    private int inFlight = 0;
+    private double limit;
+    private final int maxLimit;
+    private final int minLimit;
+    private long noLoadNanos = Long.MAX_VALUE;
+    private final long queueTimeoutNanos;
+    private long rejections = 0;
+    private int windowCount = 0;
+    private long windowMinNanos = Long.MAX_VALUE;
+
+    // Property Methods ------------------------------------------------------
+
+    /**
+     * <p>Return the number of calls currently outstanding.</p>
+     */
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    /**
+     * <p>Return the current limit on outstanding calls.</p>
+     */
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    /**
+     * <p>Return the number of calls rejected because no slot became free
+     * within the queue timeout.</p>
+     */
+    public synchronized long getRejections() {
+        return rejections;
+    }
+
+    // Public Methods --------------------------------------------------------
+
+    /**
+     * <p>Perform the specified call once a slot is free under the current
+     * limit.</p>
+     *
+     * @param call The client call
+     *
+     * @throws InterruptedException if interrupted while waiting for a slot
+     * @throws Rejected if no slot became free within the queue timeout
+     * @throws Exception if thrown by the call
+     */
+    public <T> T call(ClientCall<T> call) throws Exception {
+
+        acquire();
+        long start = System.nanoTime();
+        boolean dropped = false;
+        try {
+            return call.call();
+        } catch (InternalServerError | ProcessingException | Timeout e) {
+            dropped = true;
+            throw e;
+        } finally {
+            release(System.nanoTime() - start, dropped);
+        }
+
+    }
+
+    // Private Methods -------------------------------------------------------
+
+    private synchronized void acquire() throws InterruptedException, Rejected {
+
+        long deadline = System.nanoTime() + queueTimeoutNanos;
+        while (inFlight >= (int) limit) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                rejections++;
+                throw new Rejected("Concurrency limit of " + (int) limit + " reached");
+            }
+            try {
+                TimeUnit.NANOSECONDS.timedWait(this, remaining);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw e;
+            }
+        }
+        inFlight++;
+
+    }
+
+    private synchronized void release(long nanos, boolean dropped) {
+
+        // The no-load latency is the minimum of the previous window, so
+        // that it follows the server if it becomes permanently slower
+        long rtt = Math.max(nanos, MIN_RTT_NANOS);
+        windowMinNanos = Math.min(windowMinNanos, rtt);
+        noLoadNanos = Math.min(noLoadNanos, rtt);
+        if (++windowCount >= WINDOW) {
+            noLoadNanos = windowMinNanos;
+            windowCount = 0;
+            windowMinNanos = Long.MAX_VALUE;
+        }
+
+        if (dropped || (rtt > TOLERANCE * noLoadNanos)) {
+            limit = Math.max(minLimit, limit * BACKOFF);
+        } else if (inFlight >= limit / 2) {
+            limit = Math.min(maxLimit, limit + 1);
+        }
+        inFlight--;
+        notifyAll();
+
+    }
+
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2020 craigmcc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.craigmcc.bookcase.client;
+
+import org.craigmcc.library.shared.exception.InternalServerError;
+import org.junit.Test;
+
+import javax.ws.rs.ProcessingException;
+import java.net.ConnectException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertThrows;
+
+public class ConcurrencyLimiterTest {
+
+    // Test Methods ----------------------------------------------------------
+
+    // call() tests
+
+    @Test
+    public void callFailure() throws Exception {
+
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(10, 1, 10, 100);
+        assertThrows(InternalServerError.class,
+                () -> limiter.call(() -> { throw new InternalServerError("Overloaded"); }));
+        assertThat(limiter.getInFlight(), is(0));
+        assertThat(limiter.getLimit(), is(lessThan(10)));
+
+    }
+
+    @Test
+    public void callFailureProcessing() throws Exception {
+
+        // As thrown by the connector for a read timeout or refused connection
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(10, 1, 10, 100);
+        assertThrows(ProcessingException.class,
+                () -> limiter.call(() -> {
+                    throw new ProcessingException(new ConnectException("Connection refused"));
+                }));
+        assertThat(limiter.getInFlight(), is(0));
+        assertThat(limiter.getLimit(), is(lessThan(10)));
+
+    }
+
+    @Test
+    public void callGrows() throws Exception {
+
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(1, 1, 10, 100);
+        for (int i = 0; i < 10; i++) {
+            assertThat(limiter.call(() -> "result"), is("result"));
+        }
+        assertThat(limiter.getInFlight(), is(0));
+        assertThat(limiter.getLimit(), is(greaterThan(1)));
+
+    }
+
+    @Test
+    public void callRejected() throws Exception {
+
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(1, 1, 1, 50);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        Thread holder = new Thread(() -> {
+            try {
+                limiter.call(() -> {
+                    started.countDown();
+                    return finish.await(5, TimeUnit.SECONDS);
+                });
+            } catch (Exception e) {
+                // Not expected
+            }
+        });
+        holder.start();
+        assertThat(started.await(5, TimeUnit.SECONDS), is(true));
+
+        assertThrows(Rejected.class,
+                () -> limiter.call(() -> "result"));
+        assertThat(limiter.getRejections(), is(1L));
+
+        finish.countDown();
+        holder.join();
+        assertThat(limiter.call(() -> "result"), is("result"));
+
+    }
+
+    @Test
+    public void callInterrupted() throws Exception {
+
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(1, 1, 1, 5000);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        Thread holder = new Thread(() -> {
+            try {
+                limiter.call(() -> {
+                    started.countDown();
+                    return finish.await(5, TimeUnit.SECONDS);
+                });
+            } catch (Exception e) {
+                // Not expected
+            }
+        });
+        holder.start();
+        assertThat(started.await(5, TimeUnit.SECONDS), is(true));
+
+        // An interrupted waiter keeps its interrupt, and is not rejected
+        Thread.currentThread().interrupt();
+        try {
+            assertThrows(InterruptedException.class,
+                    () -> limiter.call(() -> "result"));
+            assertThat(Thread.currentThread().isInterrupted(), is(true));
+        } finally {
+            Thread.interrupted();
+        }
+        assertThat(limiter.getRejections(), is(0L));
+
+        finish.countDown();
+        holder.join();
+
+    }
+
+    @Test
+    public void callShrinks() throws Exception {
+
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(10, 1, 10, 100);
+        for (int i = 0; i < 5; i++) {
+            limiter.call(() -> "fast");
+        }
+        for (int i = 0; i < 5; i++) {
+            limiter.call(() -> {
+                Thread.sleep(20);
+                return "slow";
+            });
+        }
+        assertThat(limiter.getLimit(), is(lessThan(10)));
+
+    }
+
+}
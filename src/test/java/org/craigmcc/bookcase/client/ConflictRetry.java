@@ -0,0 +1,138 @@
+/*
+ * Copyright 2020 craigmcc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.craigmcc.bookcase.client;
+
+import org.craigmcc.library.shared.exception.InternalServerError;
+
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * <p>Read-modify-write helper for <code>update()</code> calls that may fail
+ * because another caller updated the same entity first (so the version
+ * being sent is stale).  On a conflict the entity is re-read, the change
+ * is re-applied, and the update is retried after a randomized backoff,
+ * up to a maximum number of attempts.  Counters are kept so that callers
+ * (and benchmarks) can observe conflict rates and retry cost.</p>
+ *
+ * <p>The server has no dedicated status for a stale version; it reports
+ * one as an {@link InternalServerError}, like any other server failure.
+ * So a failed update is only treated as a conflict if the entity is
+ * re-read and its version is no longer the version that was sent, which
+ * shows that another caller did update it in between.  Any other failure
+ * is thrown without retrying.</p>
+ */
+public class ConflictRetry {
+
+    // Nested Interfaces -----------------------------------------------------
+
+    /**
+     * <p>The update call itself, such as
+     * <code>author -&gt; authorClient.update(author.getId(), author)</code>.</p>
+     */
+    @FunctionalInterface
+    public interface Update<M> {
+        M update(M model) throws Exception;
+    }
+
+    // Constructors ----------------------------------------------------------
+
+    public ConflictRetry(int maxAttempts, long backoffMillis) {
+        this.maxAttempts = maxAttempts;
+        this.backoffMillis = backoffMillis;
+    }
+
+    // Instance Variables ----------------------------------------------------
+
+    private final AtomicLong attempts = new AtomicLong();
+    private final long backoffMillis;
+    private final AtomicLong conflicts = new AtomicLong();
+    private final int maxAttempts;
+    private final AtomicLong retryNanos = new AtomicLong();
+    private final AtomicLong successes = new AtomicLong();
+
+    // Property Methods ------------------------------------------------------
+
+    public long getAttempts() {
+        return attempts.get();
+    }
+
+    public long getConflicts() {
+        return conflicts.get();
+    }
+
+    /**
+     * <p>Return the total time spent on attempts that conflicted, including
+     * the re-read that detected the conflict and the backoff that followed
+     * it.</p>
+     */
+    public long getRetryNanos() {
+        return retryNanos.get();
+    }
+
+    public long getSuccesses() {
+        return successes.get();
+    }
+
+    // Public Methods --------------------------------------------------------
+
+    /**
+     * <p>Read the current entity, apply the change to it, and update it,
+     * retrying from the read if the update conflicts.</p>
+     *
+     * @param read Call that reads the current state of the entity
+     * @param version Function returning the version of the entity, such as
+     *                <code>Author::getVersion</code>
+     * @param change Change to apply to the entity before each update
+     * @param update Call that updates the entity
+     *
+     * @throws Exception the last conflict if all attempts conflict, or
+     *  any non-conflict exception thrown by the read or update calls
+     */
+    public <M> M update(ClientCall<M> read, Function<M, Integer> version,
+                        Consumer<M> change, Update<M> update)
+            throws Exception {
+        for (int attempt = 1; ; attempt++) {
+            long start = System.nanoTime();
+            attempts.incrementAndGet();
+            M model = read.call();
+            Integer sent = version.apply(model);
+            change.accept(model);
+            try {
+                M updated = update.update(model);
+                successes.incrementAndGet();
+                return updated;
+            } catch (InternalServerError e) {
+                if (Objects.equals(version.apply(read.call()), sent)) {
+                    throw e;
+                }
+                conflicts.incrementAndGet();
+                if (attempt >= maxAttempts) {
+                    retryNanos.addAndGet(System.nanoTime() - start);
+                    throw e;
+                }
+                long backoff = ThreadLocalRandom.current().nextLong(backoffMillis * attempt + 1);
+                TimeUnit.MILLISECONDS.sleep(backoff);
+                retryNanos.addAndGet(System.nanoTime() - start);
+            }
+        }
+    }
+
+}
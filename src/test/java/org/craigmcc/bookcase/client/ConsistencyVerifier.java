@@ -0,0 +1,169 @@
+/*
+ * Copyright 2020 craigmcc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.craigmcc.bookcase.client;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * <p>Verifier that every entity returned by a client's
+ * <code>findAll()</code> is also returned, unchanged, by its
+ * <code>find(id)</code>.  The <code>find()</code> calls run concurrently,
+ * with at most the configured number outstanding at once, and every
+ * mismatch is reported rather than just the first.  Each worker thread
+ * pulls the next index from a shared counter, and only mismatches are
+ * kept, so memory use beyond the expected list grows with the number of
+ * mismatches rather than with the number of entities being checked.</p>
+ */
+public class ConsistencyVerifier {
+
+    // Nested Interfaces -----------------------------------------------------
+
+    /**
+     * <p>The find call itself, such as <code>authorClient::find</code>.</p>
+     */
+    @FunctionalInterface
+    public interface Find<M> {
+        M find(Long id) throws Exception;
+    }
+
+    // Constructors ----------------------------------------------------------
+
+    public ConsistencyVerifier(int concurrency) {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("Concurrency must be at least 1");
+        }
+        this.concurrency = concurrency;
+    }
+
+    // Instance Variables ----------------------------------------------------
+
+    private final int concurrency;
+
+    // Public Methods --------------------------------------------------------
+
+    /**
+     * <p>Look up each of the specified entities by id, and return the ones
+     * that were not found, could not be retrieved, or were not equal to the
+     * expected entity, in the order of the expected list.</p>
+     *
+     * @param expected Entities returned by <code>findAll()</code>
+     * @param id Function returning the id of an entity
+     * @param find Call that retrieves an entity by id
+     *
+     * @throws InterruptedException if interrupted while waiting for the
+     *  verification to finish
+     */
+    public <M> List<Mismatch<M>> verify(List<M> expected, Function<M, Long> id, Find<M> find)
+            throws InterruptedException {
+
+        AtomicInteger next = new AtomicInteger();
+        Map<Integer, Mismatch<M>> mismatches = new ConcurrentSkipListMap<>();
+        Runnable worker = () -> {
+            int index;
+            while (((index = next.getAndIncrement()) < expected.size()) &&
+                    !Thread.currentThread().isInterrupted()) {
+                M model = expected.get(index);
+                Long key = id.apply(model);
+                try {
+                    M actual = find.find(key);
+                    if ((actual == null) || !actual.equals(model)) {
+                        mismatches.put(index, new Mismatch<>(key, model, actual, null));
+                    }
+                } catch (Exception e) {
+                    mismatches.put(index, new Mismatch<>(key, model, null, e));
+                }
+            }
+        };
+
+        int count = Math.min(concurrency, expected.size());
+        List<Thread> threads = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Thread thread = new Thread(worker, "consistency-verifier-" + i);
+            thread.setDaemon(true);
+            thread.start();
+            threads.add(thread);
+        }
+        try {
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        } finally {
+            for (Thread thread : threads) {
+                thread.interrupt();
+            }
+        }
+
+        return new ArrayList<>(mismatches.values());
+
+    }
+
+    // Public Classes --------------------------------------------------------
+
+    /**
+     * <p>One entity whose <code>find()</code> result did not match.</p>
+     */
+    public static class Mismatch<M> {
+
+        private Mismatch(Long id, M expected, M actual, Exception failure) {
+            this.actual = actual;
+            this.expected = expected;
+            this.failure = failure;
+            this.id = id;
+        }
+
+        private final M actual;
+        private final M expected;
+        private final Exception failure;
+        private final Long id;
+
+        /**
+         * <p>Return the entity returned by <code>find()</code>, or
+         * <code>null</code> if it failed.</p>
+         */
+        public M getActual() {
+            return actual;
+        }
+
+        public M getExpected() {
+            return expected;
+        }
+
+        /**
+         * <p>Return the exception thrown by <code>find()</code> (such as
+         * <code>NotFound</code>), or <code>null</code> if it returned.</p>
+         */
+        public Exception getFailure() {
+            return failure;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        @Override
+        public String toString() {
+            return "Mismatch[id=" + id + ", expected=" + expected +
+                    ((failure != null) ? ", failure=" + failure : ", actual=" + actual) + "]";
+        }
+
+    }
+
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2020 craigmcc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.craigmcc.bookcase.client;
+
+import org.craigmcc.library.shared.exception.NotFound;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.nullValue;
+
+public class ConsistencyVerifierTest {
+
+    // Test Methods ----------------------------------------------------------
+
+    // verify() tests
+
+    @Test
+    public void verifyBounded() throws Exception {
+
+        AtomicInteger current = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        List<Long> ids = ids(200);
+        List<ConsistencyVerifier.Mismatch<Long>> mismatches = new ConsistencyVerifier(4)
+                .verify(ids, id -> id, id -> {
+                    peak.accumulateAndGet(current.incrementAndGet(), Math::max);
+                    Thread.sleep(1);
+                    current.decrementAndGet();
+                    return id;
+                });
+        assertThat(mismatches, is(empty()));
+        assertThat(peak.get(), is(lessThanOrEqualTo(4)));
+
+    }
+
+    @Test
+    public void verifyEmpty() throws Exception {
+
+        assertThat(new ConsistencyVerifier(4)
+                .verify(Collections.<Long>emptyList(), id -> id, id -> id), is(empty()));
+
+    }
+
+    @Test
+    public void verifyMismatches() throws Exception {
+
+        List<ConsistencyVerifier.Mismatch<Long>> mismatches = new ConsistencyVerifier(8)
+                .verify(ids(100), id -> id, id -> {
+                    if (id == 17L) {
+                        throw new NotFound("Missing " + id);
+                    } else if (id == 42L) {
+                        return -id;
+                    }
+                    return id;
+                });
+        assertThat(mismatches.size(), is(2));
+
+        assertThat(mismatches.get(0).getId(), is(17L));
+        assertThat(mismatches.get(0).getActual(), is(nullValue()));
+        assertThat(mismatches.get(0).getFailure(), is(instanceOf(NotFound.class)));
+
+        assertThat(mismatches.get(1).getId(), is(42L));
+        assertThat(mismatches.get(1).getExpected(), is(42L));
+        assertThat(mismatches.get(1).getActual(), is(-42L));
+        assertThat(mismatches.get(1).getFailure(), is(nullValue()));
+
+    }
+
+    // Private Methods -------------------------------------------------------
+
+    private List<Long> ids(int count) {
+        List<Long> ids = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            ids.add(id);
+        }
+        return ids;
+    }
+
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright 2020 craigmcc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.craigmcc.bookcase.client;
+
+import org.craigmcc.bookcase.model.Author;
+import org.craigmcc.bookcase.model.Book;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static java.lang.Boolean.TRUE;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * <p>Benchmark of concurrent <code>update()</code> calls, using
+ * {@link ConflictRetry}, against one shared ("hot") entity and against
+ * one entity per thread ("cold"), at increasing thread counts.  Each run
+ * measures throughput, conflict rate, and average retry cost, and these
+ * are included in the message of any failed assertion.  Every update must
+ * eventually succeed and advance the version exactly once, hot runs with
+ * more than one thread must actually conflict (so that the retry path is
+ * exercised), and cold runs must never conflict.</p>
+ */
+public class ContentionClientTest extends AbstractClientTest {
+
+    // Manifest Constants ----------------------------------------------------
+
+    private static final int[] THREADS = { 1, 2, 4, 8 };
+    private static final long THINK_MILLIS = 5;
+    private static final int UPDATES = 10;
+
+    // Nested Interfaces -----------------------------------------------------
+
+    @FunctionalInterface
+    private interface ThreadUpdate {
+        Object update(int thread) throws Exception;
+    }
+
+    @FunctionalInterface
+    private interface VersionSum {
+        long sum() throws Exception;
+    }
+
+    // Instance Variables ----------------------------------------------------
+
+    private final AuthorClient authorClient = new AuthorClient();
+    private final BookClient bookClient = new BookClient();
+
+    // Lifecycle Methods -----------------------------------------------------
+
+    @Before
+    public void before() {
+        if ((depopulateEnabled == null) || (TRUE == depopulateEnabled)) {
+            depopulate();
+        }
+        if ((populateEnabled == null) || (TRUE == populateEnabled)) {
+            populate();
+        }
+    }
+
+    // Test Methods ----------------------------------------------------------
+
+    @Test
+    public void authorContention() throws Exception {
+
+        if (disabled()) {
+            return;
+        }
+
+        List<Long> ids = new ArrayList<>();
+        for (Author author : authorClient.findAll()) {
+            ids.add(author.getId());
+        }
+        assertThat(ids.size(), is(greaterThan(0)));
+
+        for (int threads : THREADS) {
+            for (boolean hot : new boolean[] { true, false }) {
+                ConflictRetry retry = new ConflictRetry(50, 5);
+                List<Long> used = ids.subList(0, hot ? 1 : Math.min(threads, ids.size()));
+                run("Author", threads, used.size(), retry, thread -> {
+                    Long id = used.get(thread % used.size());
+                    return retry.update(() -> authorClient.find(id), Author::getVersion,
+                            author -> {
+                                author.setNotes("Updated by thread " + thread);
+                                think();
+                            },
+                            author -> authorClient.update(author.getId(), author));
+                }, () -> {
+                    long sum = 0;
+                    for (Long id : used) {
+                        sum += authorClient.find(id).getVersion();
+                    }
+                    return sum;
+                });
+            }
+        }
+
+    }
+
+    @Test
+    public void bookContention() throws Exception {
+
+        if (disabled()) {
+            return;
+        }
+
+        List<Long> ids = new ArrayList<>();
+        for (Book book : bookClient.findAll()) {
+            ids.add(book.getId());
+        }
+        assertThat(ids.size(), is(greaterThan(0)));
+
+        for (int threads : THREADS) {
+            for (boolean hot : new boolean[] { true, false }) {
+                ConflictRetry retry = new ConflictRetry(50, 5);
+                List<Long> used = ids.subList(0, hot ? 1 : Math.min(threads, ids.size()));
+                run("Book", threads, used.size(), retry, thread -> {
+                    Long id = used.get(thread % used.size());
+                    return retry.update(() -> bookClient.find(id), Book::getVersion,
+                            book -> {
+                                book.setNotes("Updated by thread " + thread);
+                                think();
+                            },
+                            book -> bookClient.update(book.getId(), book));
+                }, () -> {
+                    long sum = 0;
+                    for (Long id : used) {
+                        sum += bookClient.find(id).getVersion();
+                    }
+                    return sum;
+                });
+            }
+        }
+
+    }
+
+    // Private Methods -------------------------------------------------------
+
+    private void run(String entity, int threads, int entities, ConflictRetry retry,
+                     ThreadUpdate update, VersionSum versions) throws Exception {
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            long before = versions.sum();
+            long start = System.nanoTime();
+            List<Future<Object>> futures = new ArrayList<>();
+            for (int thread = 0; thread < threads; thread++) {
+                final int t = thread;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < UPDATES; i++) {
+                        update.update(t);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<Object> future : futures) {
+                future.get();
+            }
+            long elapsed = System.nanoTime() - start;
+
+            double throughput = retry.getSuccesses() * 1e9 / elapsed;
+            double conflictRate = (double) retry.getConflicts() / retry.getAttempts();
+            double retryCostMillis = (retry.getConflicts() == 0) ? 0.0 :
+                    retry.getRetryNanos() / 1e6 / retry.getConflicts();
+            String run = String.format(
+                    "%s threads=%d entities=%d updates/s=%.1f conflictRate=%.3f retryCost=%.2fms",
+                    entity, threads, entities, throughput, conflictRate, retryCostMillis);
+
+            assertThat(run, retry.getSuccesses(), is((long) threads * UPDATES));
+            assertThat(run, retry.getAttempts(), is(retry.getSuccesses() + retry.getConflicts()));
+            assertThat(run, versions.sum() - before, is(retry.getSuccesses()));
+            assertThat(run, throughput, is(greaterThan(0.0)));
+            if (entities == threads) {
+                assertThat(run, retry.getConflicts(), is(0L));
+            } else if (entities == 1) {
+                assertThat(run, retry.getConflicts(), is(greaterThan(0L)));
+                assertThat(run, retryCostMillis, is(greaterThan(0.0)));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+    }
+
+    /**
+     * <p>Pause between the read and the update, widening the window in which
+     * concurrent updates of one entity overlap.</p>
+     */
+    private static void think() {
+        LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(THINK_MILLIS));
+    }
+
+}
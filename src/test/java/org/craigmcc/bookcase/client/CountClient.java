@@ -0,0 +1,185 @@
+/*
+ * Copyright 2020 craigmcc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.craigmcc.bookcase.client;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.craigmcc.library.shared.exception.InternalServerError;
+
+import javax.ws.rs.client.WebTarget;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * <p>Counts and existence checks for the entity resources, to use instead
+ * of <code>findAll().size()</code> and of <code>find(id)</code> throwing
+ * <code>NotFound</code>.  {@link #exists} sends a HEAD request, so no
+ * entity is transferred at all.  The counts stream the list response and
+ * count its elements as they arrive, without building any model
+ * objects.</p>
+ */
+public class CountClient extends AbstractClient {
+
+    // Manifest Constants ----------------------------------------------------
+
+    private static final String AUTHOR_ID = "authorId";
+
+    private static final JsonFactory FACTORY = new JsonFactory();
+
+    // Instance Variables ----------------------------------------------------
+
+    // Base target with the shared ResponseTracker (if enabled) registered
+    // once, so that derived targets share one Jersey runtime
+    private final WebTarget trackedTarget = ResponseTracker.track(getBaseTarget());
+
+    // Public Methods --------------------------------------------------------
+
+    /**
+     * <p>Return the number of entities of the specified resource.</p>
+     *
+     * @param resource Resource to be counted
+     *
+     * @throws InternalServerError if the list could not be retrieved
+     */
+    public long count(Resource resource) throws InternalServerError {
+        return count(resource, null);
+    }
+
+    /**
+     * <p>Return the number of entities of the specified resource that
+     * belong to the specified author.</p>
+     *
+     * @param resource Resource to be counted, which must be authored
+     * @param authorId ID of the author
+     *
+     * @throws IllegalArgumentException if the resource is not authored
+     * @throws InternalServerError if the list could not be retrieved
+     */
+    public long countByAuthorId(Resource resource, Long authorId)
+            throws InternalServerError {
+        if (!resource.isAuthored()) {
+            throw new IllegalArgumentException(resource + " has no authorId");
+        }
+        return count(resource, authorId);
+    }
+
+    /**
+     * <p>Return <code>true</code> if an entity of the specified resource
+     * exists with the specified ID.</p>
+     *
+     * @param resource Resource to be checked
+     * @param id ID of the entity
+     *
+     * @throws InternalServerError if the server reported an error
+     */
+    public boolean exists(Resource resource, Long id) throws InternalServerError {
+
+        Response response = trackedTarget
+                .path(resource.getPath())
+                .path("/" + id)
+                .request(MediaType.APPLICATION_JSON)
+                .head();
+        try {
+            if (response.getStatus() == Response.Status.OK.getStatusCode()) {
+                return true;
+            } else if (response.getStatus() == Response.Status.NOT_FOUND.getStatusCode()) {
+                return false;
+            } else {
+                throw new InternalServerError("HEAD " + resource.getPath() + "/" + id +
+                        " returned status " + response.getStatus());
+            }
+        } finally {
+            response.close();
+        }
+
+    }
+
+    // Package Methods -------------------------------------------------------
+
+    /**
+     * <p>Count the elements of the JSON array on the specified stream,
+     * optionally only those whose <code>authorId</code> matches.</p>
+     *
+     * @param stream Stream containing a JSON array of entities
+     * @param authorId Author ID to match, or <code>null</code> to count
+     *                 every element
+     *
+     * @throws IOException if the stream does not contain a JSON array
+     */
+    static long countElements(InputStream stream, Long authorId) throws IOException {
+
+        try (JsonParser parser = FACTORY.createParser(stream)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IOException("Expected a JSON array");
+            }
+            long count = 0;
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token == null) {
+                    throw new IOException("Unexpected end of JSON array");
+                }
+                if (authorId == null) {
+                    parser.skipChildren();
+                    count++;
+                    continue;
+                } else if (token != JsonToken.START_OBJECT) {
+                    parser.skipChildren();
+                    continue;
+                }
+                boolean matched = false;
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String name = parser.getCurrentName();
+                    JsonToken value = parser.nextToken();
+                    if (AUTHOR_ID.equals(name) && (value == JsonToken.VALUE_NUMBER_INT)) {
+                        matched = authorId.equals(parser.getLongValue());
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+                if (matched) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+    }
+
+    // Private Methods -------------------------------------------------------
+
+    private long count(Resource resource, Long authorId) throws InternalServerError {
+
+        Response response = trackedTarget
+                .path(resource.getPath())
+                .request(MediaType.APPLICATION_JSON)
+                .get();
+        try {
+            if (response.getStatus() != Response.Status.OK.getStatusCode()) {
+                throw new InternalServerError(response.readEntity(String.class));
+            }
+            return countElements(response.readEntity(InputStream.class), authorId);
+        } catch (IOException e) {
+            throw new InternalServerError(e.getMessage());
+        } finally {
+            response.close();
+        }
+
+    }
+
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2020 craigmcc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.craigmcc.bookcase.client;
+
+import org.craigmcc.bookcase.model.Author;
+import org.craigmcc.bookcase.model.Book;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static java.lang.Boolean.TRUE;
+import static org.craigmcc.bookcase.client.Resource.AUTHORS;
+import static org.craigmcc.bookcase.client.Resource.BOOKS;
+import static org.craigmcc.bookcase.client.Resource.MEMBERS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThrows;
+
+public class CountClientTest extends AbstractClientTest {
+
+    // Instance Variables ----------------------------------------------------
+
+    private final AuthorClient authorClient = new AuthorClient();
+    private final BookClient bookClient = new BookClient();
+    private final CountClient countClient = new CountClient();
+
+    // Lifecycle Methods -----------------------------------------------------
+
+    @Before
+    public void before() {
+        if ((depopulateEnabled == null) || (TRUE == depopulateEnabled)) {
+            depopulate();
+        }
+        if ((populateEnabled == null) || (TRUE == populateEnabled)) {
+            populate();
+        }
+    }
+
+    // Test Methods ----------------------------------------------------------
+
+    // count() tests
+
+    @Test
+    public void countHappy() throws Exception {
+
+        List<Author> authors = authorClient.findAll();
+        assertThat(authors.size(), is(greaterThan(0)));
+        assertThat(countClient.count(AUTHORS), is((long) authors.size()));
+        assertThat(countClient.count(BOOKS), is((long) bookClient.findAll().size()));
+
+    }
+
+    // countByAuthorId() tests
+
+    @Test
+    public void countByAuthorIdHappy() throws Exception {
+
+        List<Book> books = bookClient.findAll();
+        for (Author author : authorClient.findAll()) {
+            long expected = books.stream()
+                    .filter(book -> author.getId().equals(book.getAuthorId()))
+                    .count();
+            assertThat(countClient.countByAuthorId(BOOKS, author.getId()), is(expected));
+        }
+
+    }
+
+    @Test
+    public void countByAuthorIdUnauthored() throws Exception {
+
+        assertThrows(IllegalArgumentException.class,
+                () -> countClient.countByAuthorId(MEMBERS, 1L));
+
+    }
+
+    // countElements() tests
+
+    @Test
+    public void countElementsHappy() throws Exception {
+
+        String json = "[{\"id\":1,\"authorId\":7,\"tags\":[1,2]}," +
+                "{\"id\":2,\"authorId\":8,\"nested\":{\"authorId\":7}}," +
+                "{\"id\":3,\"authorId\":7}]";
+        assertThat(CountClient.countElements(stream(json), null), is(3L));
+        assertThat(CountClient.countElements(stream(json), 7L), is(2L));
+        assertThat(CountClient.countElements(stream(json), 9L), is(0L));
+        assertThat(CountClient.countElements(stream("[]"), null), is(0L));
+
+    }
+
+    @Test
+    public void countElementsInvalid() throws Exception {
+
+        assertThrows(IOException.class,
+                () -> CountClient.countElements(stream("{\"id\":1}"), null));
+        assertThrows(IOException.class,
+                () -> CountClient.countElements(stream("[{\"id\":1}"), null));
+
+    }
+
+    // exists() tests
+
+    @Test
+    public void existsHappy() throws Exception {
+
+        for (Author author : authorClient.findAll()) {
+            assertThat(countClient.exists(AUTHORS, author.getId()), is(true));
+        }
+
+    }
+
+    @Test
+    public void existsNotFound() throws Exception {
+
+        assertThat(countClient.exists(AUTHORS, Long.MAX_VALUE), is(false));
+
+    }
+
+    // Private Methods -------------------------------------------------------
+
+    private InputStream stream(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
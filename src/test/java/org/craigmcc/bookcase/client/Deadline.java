@@ -0,0 +1,162 @@
+/*
+ * Copyright 2020 craigmcc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.craigmcc.bookcase.client;
+
+import org.glassfish.jersey.client.ClientProperties;
+
+import javax.ws.rs.client.Invocation;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * <p>Point in time by which a client call (or a chain of calls) must
+ * complete.  A deadline can be used in two ways:</p>
+ * <ul>
+ *     <li>{@link #apply} configures a request being built by a client in
+ *         this package, setting Jersey connect and read timeouts from the
+ *         remaining time and propagating it to the server in the
+ *         {@link #HEADER} header.</li>
+ *     <li>{@link #call} bounds the wait for a call to any entity client,
+ *         such as <code>deadline.call(() -&gt; authorClient.find(id))</code>,
+ *         throwing {@link Timeout} if it does not finish in time.</li>
+ * </ul>
+ * <p>Prefer {@link #apply} wherever the request can be reached: the
+ * connector then abandons the I/O itself when the deadline expires.
+ * {@link #call} only stops waiting, and leaves the call running on a
+ * shared background thread until its I/O completes.  At most
+ * {@link #MAX_CALLS} such threads exist, so calls abandoned against a
+ * stalled server cannot pile up threads without limit; once they are all
+ * busy, further calls are rejected.</p>
+ */
+public class Deadline {
+
+    // Manifest Constants ----------------------------------------------------
+
+    /**
+     * <p>Request header carrying the remaining time, in milliseconds.</p>
+     */
+    public static final String HEADER = "X-Bookcase-Deadline";
+
+    /**
+     * <p>Maximum number of calls made through {@link #call} that may be
+     * running at once, including abandoned calls still waiting on I/O.</p>
+     */
+    public static final int MAX_CALLS = 16;
+
+    // Daemon threads, so an abandoned call never keeps the JVM alive, and
+    // no queue, so a call is rejected rather than waiting for a thread
+    private static final ExecutorService EXECUTOR = new ThreadPoolExecutor(
+            0, MAX_CALLS, 60, TimeUnit.SECONDS, new SynchronousQueue<>(), r -> {
+        Thread thread = new Thread(r, "deadline-call");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Constructors ----------------------------------------------------------
+
+    private Deadline(long expiresNanos) {
+        this.expiresNanos = expiresNanos;
+    }
+
+    // Instance Variables ----------------------------------------------------
+
+    private final long expiresNanos;
+
+    // Static Methods --------------------------------------------------------
+
+    public static Deadline after(long duration, TimeUnit unit) {
+        return new Deadline(System.nanoTime() + unit.toNanos(duration));
+    }
+
+    // Public Methods --------------------------------------------------------
+
+    /**
+     * <p>Configure the specified request to time out when this deadline
+     * expires, and to send the remaining time to the server.</p>
+     *
+     * @param builder Request being built
+     *
+     * @throws Timeout if this deadline has already expired
+     */
+    public Invocation.Builder apply(Invocation.Builder builder) throws Timeout {
+        int millis = (int) Math.min(remaining(TimeUnit.MILLISECONDS), Integer.MAX_VALUE);
+        if (millis <= 0) {
+            throw new Timeout("Deadline expired before the request was sent");
+        }
+        return builder
+                .property(ClientProperties.CONNECT_TIMEOUT, millis)
+                .property(ClientProperties.READ_TIMEOUT, millis)
+                .header(HEADER, millis);
+    }
+
+    /**
+     * <p>Perform the specified call on a background thread, waiting no
+     * longer than the time remaining before this deadline.  A call that
+     * times out is interrupted, but may continue until its underlying I/O
+     * completes, so use {@link #apply} instead for requests built in this
+     * package.</p>
+     *
+     * @param call Client call to be performed
+     *
+     * @throws Rejected if {@link #MAX_CALLS} calls are already running, in
+     *  which case the call was never made
+     * @throws Timeout if the call does not complete before this deadline
+     * @throws Exception if thrown by the call
+     */
+    public <T> T call(ClientCall<T> call) throws Exception {
+        if (isExpired()) {
+            throw new Timeout("Deadline expired before the call was made");
+        }
+        Future<T> future;
+        try {
+            future = EXECUTOR.submit(call::call);
+        } catch (RejectedExecutionException e) {
+            throw new Rejected("All " + MAX_CALLS + " deadline call threads are busy");
+        }
+        try {
+            return future.get(remaining(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new Timeout("Deadline expired before the call completed", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception) {
+                throw (Exception) e.getCause();
+            }
+            throw (Error) e.getCause();
+        }
+    }
+
+    public boolean isExpired() {
+        return remaining(TimeUnit.NANOSECONDS) <= 0;
+    }
+
+    /**
+     * <p>Return the time remaining before this deadline, or zero if it has
+     * already expired.</p>
+     *
+     * @param unit Time unit of the returned value
+     */
+    public long remaining(TimeUnit unit) {
+        return unit.convert(Math.max(expiresNanos - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+    }
+
+}
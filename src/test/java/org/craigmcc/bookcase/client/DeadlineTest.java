@@ -0,0 +1,156 @@
+/*
+ * Copyright 2020 craigmcc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.craigmcc.bookcase.client;
+
+import org.craigmcc.library.shared.exception.NotFound;
+import org.glassfish.jersey.client.ClientProperties;
+import org.junit.Test;
+
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.ClientBuilder;
+import javax.ws.rs.client.ClientRequestFilter;
+import javax.ws.rs.core.Response;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertThrows;
+
+public class DeadlineTest {
+
+    // Test Methods ----------------------------------------------------------
+
+    // apply() tests
+
+    @Test
+    public void applyExpired() throws Exception {
+        Client client = ClientBuilder.newClient();
+        try {
+            Deadline deadline = Deadline.after(0, TimeUnit.MILLISECONDS);
+            assertThrows(Timeout.class,
+                    () -> deadline.apply(client.target("http://localhost/authors").request()));
+        } finally {
+            client.close();
+        }
+    }
+
+    @Test
+    public void applyHappy() throws Exception {
+
+        // Echo the timeouts and header back without sending the request anywhere
+        Client client = ClientBuilder.newClient()
+                .register((ClientRequestFilter) context -> context.abortWith(Response.noContent()
+                        .header("X-Connect", context.getProperty(ClientProperties.CONNECT_TIMEOUT))
+                        .header("X-Read", context.getProperty(ClientProperties.READ_TIMEOUT))
+                        .header("X-Deadline", context.getHeaderString(Deadline.HEADER))
+                        .build()));
+        try {
+            Deadline deadline = Deadline.after(10, TimeUnit.SECONDS);
+            Response response = deadline.apply(client.target("http://localhost/authors")
+                    .request())
+                    .get();
+            int read = Integer.parseInt(response.getHeaderString("X-Read"));
+            assertThat(read, is(greaterThan(9000)));
+            assertThat(read, is(lessThanOrEqualTo(10000)));
+            assertThat(response.getHeaderString("X-Connect"), is(String.valueOf(read)));
+            assertThat(response.getHeaderString("X-Deadline"), is(String.valueOf(read)));
+        } finally {
+            client.close();
+        }
+
+    }
+
+    // call() tests
+
+    @Test
+    public void callHappy() throws Exception {
+        Deadline deadline = Deadline.after(1, TimeUnit.SECONDS);
+        assertThat(deadline.call(() -> "result"), is("result"));
+        assertThat(deadline.isExpired(), is(false));
+    }
+
+    @Test
+    public void callException() throws Exception {
+        Deadline deadline = Deadline.after(1, TimeUnit.SECONDS);
+        assertThrows(NotFound.class,
+                () -> deadline.call(() -> { throw new NotFound("Missing"); }));
+    }
+
+    @Test
+    public void callExpired() throws Exception {
+        Deadline deadline = Deadline.after(0, TimeUnit.MILLISECONDS);
+        assertThat(deadline.isExpired(), is(true));
+        assertThat(deadline.remaining(TimeUnit.NANOSECONDS), is(0L));
+        assertThrows(Timeout.class,
+                () -> deadline.call(() -> "result"));
+    }
+
+    @Test
+    public void callRejected() throws Exception {
+
+        // Occupy every call thread until released
+        Deadline deadline = Deadline.after(10, TimeUnit.SECONDS);
+        CountDownLatch started = new CountDownLatch(Deadline.MAX_CALLS);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Thread> callers = new ArrayList<>();
+        for (int i = 0; i < Deadline.MAX_CALLS; i++) {
+            Thread caller = new Thread(() -> {
+                try {
+                    deadline.call(() -> {
+                        started.countDown();
+                        release.await();
+                        return "result";
+                    });
+                } catch (Exception e) {
+                    /* Ignore */;
+                }
+            });
+            caller.start();
+            callers.add(caller);
+        }
+        try {
+            assertThat(started.await(5, TimeUnit.SECONDS), is(true));
+            assertThrows(Rejected.class,
+                    () -> deadline.call(() -> "result"));
+        } finally {
+            release.countDown();
+            for (Thread caller : callers) {
+                caller.join();
+            }
+        }
+
+    }
+
+    @Test
+    public void callTimeout() throws Exception {
+        Deadline deadline = Deadline.after(100, TimeUnit.MILLISECONDS);
+        long start = System.nanoTime();
+        assertThrows(Timeout.class,
+                () -> deadline.call(() -> {
+                    Thread.sleep(5000);
+                    return "result";
+                }));
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+                is(lessThan(1000L)));
+    }
+
+}
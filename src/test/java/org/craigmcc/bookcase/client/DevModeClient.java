@@ -18,51 +18,157 @@ package org.craigmcc.bookcase.client;
 import org.craigmcc.library.shared.exception.Forbidden;
 import org.craigmcc.library.shared.exception.InternalServerError;
 
+import javax.ws.rs.ProcessingException;
 import javax.ws.rs.client.Entity;
+import javax.ws.rs.client.Invocation;
 import javax.ws.rs.client.WebTarget;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import java.net.SocketTimeoutException;
+import java.net.http.HttpTimeoutException;
 
 public class DevModeClient extends AbstractClient {
 
+    // Constructors ----------------------------------------------------------
+
+    public DevModeClient() {
+        this.depopulateTarget = depopulateTarget(getBaseTarget());
+        this.lane = null;
+        this.populateTarget = populateTarget(getBaseTarget());
+    }
+
+    /**
+     * <p>Construct a client whose requests use the connection pool,
+     * timeouts, and concurrency cap of the specified lane, typically
+     * {@link TrafficLane#bulk()}.</p>
+     *
+     * @param lane Traffic lane for this client's requests
+     */
+    public DevModeClient(TrafficLane lane) {
+        WebTarget baseTarget = lane.target(getBaseTarget().getUri());
+        this.depopulateTarget = depopulateTarget(baseTarget);
+        this.lane = lane;
+        this.populateTarget = populateTarget(baseTarget);
+    }
+
     // Instance Variables ----------------------------------------------------
 
-    private final WebTarget depopulateTarget = getBaseTarget()
-            .path("/devmode")
-            .path("/depopulate");
+    private final WebTarget depopulateTarget;
 
-    private final WebTarget populateTarget = getBaseTarget()
-            .path("/devmode")
-            .path("/populate");
+    // Lane whose cap covers this client's requests, or null for none
+    private final TrafficLane lane;
+
+    private final WebTarget populateTarget;
 
     // Public Methods --------------------------------------------------------
 
-    public void depopulate() throws Forbidden, InternalServerError {
-
-        Response response = depopulateTarget
-            .request(MediaType.TEXT_PLAIN)
-            .post(Entity.text(""));
-        if (response.getStatus() == RESPONSE_FORBIDDEN) {
-            throw new Forbidden(response.readEntity(String.class));
-        } else if (response.getStatus() == RESPONSE_NO_CONTENT) {
-            return;
-        } else {
-            throw new InternalServerError(response.readEntity(String.class));
+    public void depopulate()
+            throws Forbidden, InternalServerError, InterruptedException, Rejected, Timeout {
+
+        send(() -> post(depopulateTarget
+                .request(MediaType.TEXT_PLAIN)));
+
+    }
+
+    public void depopulate(Deadline deadline)
+            throws Forbidden, InternalServerError, InterruptedException, Rejected, Timeout {
+
+        send(() -> post(deadline.apply(depopulateTarget
+                .request(MediaType.TEXT_PLAIN))));
+
+    }
+
+    public void populate()
+            throws Forbidden, InternalServerError, InterruptedException, Rejected, Timeout {
+
+        send(() -> post(populateTarget
+                .request(MediaType.TEXT_PLAIN)));
+
+    }
+
+    public void populate(Deadline deadline)
+            throws Forbidden, InternalServerError, InterruptedException, Rejected, Timeout {
+
+        send(() -> post(deadline.apply(populateTarget
+                .request(MediaType.TEXT_PLAIN))));
+
+    }
+
+    // Private Methods -------------------------------------------------------
+
+    private static WebTarget depopulateTarget(WebTarget baseTarget) {
+        return ResponseTracker.track(baseTarget
+                .path("/devmode")
+                .path("/depopulate"));
+    }
+
+    private static WebTarget populateTarget(WebTarget baseTarget) {
+        return ResponseTracker.track(baseTarget
+                .path("/devmode")
+                .path("/populate"));
+    }
+
+    private void handle(Response response) throws Forbidden, InternalServerError {
+
+        try {
+            if (response.getStatus() == RESPONSE_FORBIDDEN) {
+                throw new Forbidden(response.readEntity(String.class));
+            } else if (response.getStatus() == RESPONSE_NO_CONTENT) {
+                return;
+            } else {
+                throw new InternalServerError(response.readEntity(String.class));
+            }
+        } finally {
+            response.close();
+        }
+
+    }
+
+    /**
+     * <p>Perform the specified request and handle its response, within the
+     * cap of this client's lane, if any.</p>
+     */
+    private void send(ClientCall<Response> request)
+            throws Forbidden, InternalServerError, InterruptedException, Rejected, Timeout {
+
+        ClientCall<Void> call = () -> {
+            handle(request.call());
+            return null;
+        };
+        try {
+            if (lane != null) {
+                lane.call(call);
+            } else {
+                call.call();
+            }
+        } catch (Forbidden e) {
+            throw e;
+        } catch (InternalServerError e) {
+            throw e;
+        } catch (InterruptedException e) {
+            throw e;
+        } catch (Rejected e) {
+            throw e;
+        } catch (Timeout e) {
+            throw e;
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new InternalServerError(e.getMessage());
         }
 
     }
 
-    public void populate() throws Forbidden, InternalServerError {
-
-        Response response = populateTarget
-                .request(MediaType.TEXT_PLAIN)
-                .post(Entity.text(""));
-        if (response.getStatus() == RESPONSE_FORBIDDEN) {
-            throw new Forbidden(response.readEntity(String.class));
-        } else if (response.getStatus() == RESPONSE_NO_CONTENT) {
-            return;
-        } else {
-            throw new InternalServerError(response.readEntity(String.class));
+    private Response post(Invocation.Builder builder) throws Timeout {
+
+        try {
+            return builder.post(Entity.text(""));
+        } catch (ProcessingException e) {
+            if ((e.getCause() instanceof SocketTimeoutException) ||
+                    (e.getCause() instanceof HttpTimeoutException)) {
+                throw new Timeout(e.getMessage(), e);
+            }
+            throw e;
         }
 
     }
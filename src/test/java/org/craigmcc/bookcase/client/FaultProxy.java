@@ -0,0 +1,251 @@
+/*
+ * Copyright 2020 craigmcc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.craigmcc.bookcase.client;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>Local TCP proxy that sits between the clients and a Bookcase server,
+ * injecting WAN-like conditions into responses:</p>
+ * <ul>
+ *     <li><strong>latency</strong> - a fixed delay, plus exponentially
+ *         distributed jitter, before the first response bytes that follow
+ *         each request.</li>
+ *     <li><strong>bandwidth</strong> - a cap on response bytes per second.</li>
+ *     <li><strong>slow drip</strong> - responses are forwarded in small
+ *         chunks with a pause after each one.</li>
+ * </ul>
+ * <p>Point the clients at <code>localhost:getPort()</code> instead of the
+ * server to use it.  All settings may be changed while the proxy is
+ * running, and apply to subsequent reads.</p>
+ */
+public class FaultProxy implements Closeable {
+
+    // Manifest Constants ----------------------------------------------------
+
+    private static final int BUFFER_SIZE = 8192;
+
+    // Bandwidth pauses shorter than this are carried forward, not slept
+    private static final long MIN_PAUSE_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    // Constructors ----------------------------------------------------------
+
+    /**
+     * @param port Local port to listen on (zero for any free port)
+     * @param targetHost Host name of the server being proxied
+     * @param targetPort Port number of the server being proxied
+     */
+    public FaultProxy(int port, String targetHost, int targetPort) throws IOException {
+        this.serverSocket = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+        this.targetHost = targetHost;
+        this.targetPort = targetPort;
+        Thread acceptor = new Thread(this::accept, "fault-proxy-" + getPort());
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    // Instance Variables ----------------------------------------------------
+
+    private volatile long bytesPerSecond = 0;
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private volatile int dripBytes = 0;
+    private volatile long dripMillis = 0;
+    private volatile long jitterMillis = 0;
+    private volatile IOException lastError = null;
+    private volatile long latencyMillis = 0;
+    private final ServerSocket serverSocket;
+    private final List<Socket> sockets = new CopyOnWriteArrayList<>();
+    private final String targetHost;
+    private final int targetPort;
+
+    // Property Methods ------------------------------------------------------
+
+    /**
+     * <p>Cap response bandwidth at the specified rate (zero for no cap).</p>
+     */
+    public void setBandwidth(long bytesPerSecond) {
+        this.bytesPerSecond = bytesPerSecond;
+    }
+
+    /**
+     * <p>Forward responses in chunks of the specified size, pausing after
+     * each chunk (zero bytes to disable).</p>
+     */
+    public void setDrip(int dripBytes, long dripMillis) {
+        this.dripBytes = dripBytes;
+        this.dripMillis = dripMillis;
+    }
+
+    /**
+     * <p>Delay the first response bytes after each request by the specified
+     * latency plus exponentially distributed jitter with the specified
+     * mean.</p>
+     */
+    public void setLatency(long latencyMillis, long jitterMillis) {
+        this.latencyMillis = latencyMillis;
+        this.jitterMillis = jitterMillis;
+    }
+
+    /**
+     * <p>Return the last failure to accept a connection or to connect to
+     * the server, or <code>null</code> if there has been none.</p>
+     */
+    public IOException getLastError() {
+        return lastError;
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    // Public Methods --------------------------------------------------------
+
+    @Override
+    public void close() throws IOException {
+        if (closed.compareAndSet(false, true)) {
+            serverSocket.close();
+            for (Socket socket : sockets) {
+                close(socket);
+            }
+        }
+    }
+
+    // Private Methods -------------------------------------------------------
+
+    private void accept() {
+        while (!closed.get()) {
+            try {
+                Socket client = serverSocket.accept();
+                Socket server;
+                try {
+                    server = new Socket(targetHost, targetPort);
+                } catch (IOException e) {
+                    close(client);
+                    throw e;
+                }
+                sockets.add(client);
+                sockets.add(server);
+                AtomicBoolean awaiting = new AtomicBoolean();
+                AtomicInteger open = new AtomicInteger(2);
+                start(() -> pump(client, server, awaiting, open, false));
+                start(() -> pump(server, client, awaiting, open, true));
+            } catch (IOException e) {
+                if (!closed.get()) {
+                    lastError = e;
+                }
+            }
+        }
+    }
+
+    private static void close(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            /* Ignore */;
+        }
+    }
+
+    private void close(Socket from, Socket to) {
+        close(from);
+        close(to);
+        sockets.remove(from);
+        sockets.remove(to);
+    }
+
+    private long delay() {
+        long delay = latencyMillis;
+        if (jitterMillis > 0) {
+            delay += (long) (-jitterMillis * Math.log(1.0 - ThreadLocalRandom.current().nextDouble()));
+        }
+        return delay;
+    }
+
+    /**
+     * <p>Copy bytes from one socket to the other until end of stream, then
+     * pass the half close on to the other socket.  Requests (client to
+     * server) are copied as is, and mark that a response is awaited.
+     * Responses are subject to the configured faults.  Both sockets are
+     * closed once both directions have finished, or as soon as either one
+     * fails.</p>
+     */
+    private void pump(Socket from, Socket to, AtomicBoolean awaiting,
+                      AtomicInteger open, boolean response) {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        long debtNanos = 0;
+        try {
+            InputStream in = from.getInputStream();
+            OutputStream out = to.getOutputStream();
+            int count;
+            while ((count = in.read(buffer)) >= 0) {
+                if (!response) {
+                    awaiting.set(true);
+                    out.write(buffer, 0, count);
+                    out.flush();
+                    continue;
+                }
+                if (awaiting.getAndSet(false)) {
+                    TimeUnit.MILLISECONDS.sleep(delay());
+                }
+                int chunk = (dripBytes > 0) ? dripBytes : count;
+                for (int offset = 0; offset < count; offset += chunk) {
+                    int length = Math.min(chunk, count - offset);
+                    out.write(buffer, offset, length);
+                    out.flush();
+                    long pauseNanos = (dripBytes > 0) ? TimeUnit.MILLISECONDS.toNanos(dripMillis) : 0;
+                    if (bytesPerSecond > 0) {
+                        debtNanos += (length * 1_000_000_000L) / bytesPerSecond;
+                        if (debtNanos >= MIN_PAUSE_NANOS) {
+                            pauseNanos += debtNanos;
+                            debtNanos = 0;
+                        }
+                    }
+                    if (pauseNanos > 0) {
+                        TimeUnit.NANOSECONDS.sleep(pauseNanos);
+                    }
+                }
+            }
+            to.shutdownOutput();
+            if (open.decrementAndGet() == 0) {
+                close(from, to);
+            }
+        } catch (IOException e) {
+            /* Connection closed by one side or the other */;
+            close(from, to);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            close(from, to);
+        }
+    }
+
+    private void start(Runnable runnable) {
+        Thread thread = new Thread(runnable, "fault-proxy-pump");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2020 craigmcc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.craigmcc.bookcase.client;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+public class FaultProxyTest {
+
+    // Instance Variables ----------------------------------------------------
+
+    private ServerSocket echoServer;
+    private FaultProxy proxy;
+
+    // Lifecycle Methods -----------------------------------------------------
+
+    @Before
+    public void before() throws Exception {
+        echoServer = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        Thread thread = new Thread(this::echo, "echo-server");
+        thread.setDaemon(true);
+        thread.start();
+        proxy = new FaultProxy(0, "localhost", echoServer.getLocalPort());
+    }
+
+    @After
+    public void after() throws Exception {
+        proxy.close();
+        echoServer.close();
+    }
+
+    // Test Methods ----------------------------------------------------------
+
+    @Test
+    public void bandwidthHappy() throws Exception {
+        proxy.setBandwidth(40_000);
+        assertThat(roundTrip(20_000), is(greaterThanOrEqualTo(200L)));
+    }
+
+    @Test
+    public void bandwidthSmallChunks() throws Exception {
+        // Each 64 byte chunk is well under a millisecond at this rate
+        proxy.setBandwidth(100_000);
+        proxy.setDrip(64, 0);
+        assertThat(roundTrip(20_000), is(greaterThanOrEqualTo(200L)));
+    }
+
+    @Test
+    public void dripHappy() throws Exception {
+        proxy.setDrip(512, 10);
+        assertThat(roundTrip(4096), is(greaterThanOrEqualTo(70L)));
+    }
+
+    @Test
+    public void halfCloseHappy() throws Exception {
+        byte[] sent = new byte[4096];
+        byte[] received = new byte[sent.length];
+        try (Socket socket = new Socket("localhost", proxy.getPort())) {
+            socket.getOutputStream().write(sent);
+            socket.shutdownOutput();
+            DataInputStream in = new DataInputStream(socket.getInputStream());
+            in.readFully(received);
+            assertThat(in.read(), is(-1));
+        }
+        assertThat(proxy.getLastError(), is(nullValue()));
+    }
+
+    @Test
+    public void latencyHappy() throws Exception {
+        proxy.setLatency(100, 0);
+        assertThat(roundTrip(16), is(greaterThanOrEqualTo(100L)));
+        assertThat(roundTrip(16), is(greaterThanOrEqualTo(100L)));
+    }
+
+    @Test
+    public void passThroughHappy() throws Exception {
+        roundTrip(100_000);
+    }
+
+    // Private Methods -------------------------------------------------------
+
+    private void echo() {
+        while (!echoServer.isClosed()) {
+            try {
+                Socket socket = echoServer.accept();
+                Thread thread = new Thread(() -> {
+                    byte[] buffer = new byte[8192];
+                    try (InputStream in = socket.getInputStream();
+                         OutputStream out = socket.getOutputStream()) {
+                        int count;
+                        while ((count = in.read(buffer)) >= 0) {
+                            out.write(buffer, 0, count);
+                            out.flush();
+                        }
+                    } catch (IOException e) {
+                        /* Ignore */;
+                    }
+                }, "echo-connection");
+                thread.setDaemon(true);
+                thread.start();
+            } catch (IOException e) {
+                /* Server socket closed */;
+            }
+        }
+    }
+
+    /**
+     * <p>Send the specified number of bytes through the proxy, verify that
+     * they are echoed back intact, and return the elapsed milliseconds.</p>
+     */
+    private long roundTrip(int size) throws Exception {
+        byte[] sent = new byte[size];
+        for (int i = 0; i < size; i++) {
+            sent[i] = (byte) i;
+        }
+        byte[] received = new byte[size];
+        try (Socket socket = new Socket("localhost", proxy.getPort())) {
+            long start = System.nanoTime();
+            OutputStream out = socket.getOutputStream();
+            out.write(sent);
+            out.flush();
+            new DataInputStream(socket.getInputStream()).readFully(received);
+            long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            assertThat(Arrays.equals(sent, received), is(true));
+            return elapsed;
+        }
+    }
+
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright 2020 craigmcc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.craigmcc.bookcase.client;
+
+import java.io.Closeable;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>Hedging policy for idempotent reads, such as <code>find()</code>,
+ * <code>findAll()</code>, <code>findByName()</code>,
+ * <code>findBySeriesId()</code>, and <code>findByAnthologyId()</code>.
+ * If a read has not answered within the p95 latency observed for that
+ * operation, a second identical read is sent; the first to succeed is
+ * returned, and the other is cancelled.  A failure is thrown only once
+ * every attempt sent has failed, so a hedge that succeeds is not lost to
+ * an earlier failure of the original request.  <strong>Never</strong> use this
+ * for inserts, updates, or deletes: both copies of a hedged call may reach
+ * the server, and a cancelled copy's I/O may still complete.</p>
+ *
+ * <p>Until enough samples have been seen for an operation, the initial
+ * hedge delay passed to the constructor is used instead of the p95.  The
+ * latency recorded for each read is that of the attempt that succeeded,
+ * timed from when that attempt was sent.  Close the hedger when done, to
+ * interrupt any attempts still running and release its threads.</p>
+ */
+public class Hedger implements Closeable {
+
+    // Manifest Constants ----------------------------------------------------
+
+    // Hedge delay never drops below this, whatever the observed p95
+    private static final long MIN_DELAY_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    // Samples needed before the observed p95 is trusted
+    private static final int MIN_SAMPLES = 20;
+
+    // Samples retained per operation
+    private static final int WINDOW = 1024;
+
+    // Constructors ----------------------------------------------------------
+
+    public Hedger(long initialDelayMillis) {
+        this.initialDelayNanos = TimeUnit.MILLISECONDS.toNanos(initialDelayMillis);
+    }
+
+    // Instance Variables ----------------------------------------------------
+
+    private final ExecutorService executor = Executors.newCachedThreadPool(r -> {
+        Thread thread = new Thread(r, "hedged-read");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicLong hedges = new AtomicLong();
+    private final AtomicLong hedgeWins = new AtomicLong();
+    private final long initialDelayNanos;
+    private final Map<String, Latencies> latencies = new ConcurrentHashMap<>();
+
+    // Property Methods ------------------------------------------------------
+
+    /**
+     * <p>Return the number of reads for which a hedge was sent.</p>
+     */
+    public long getHedges() {
+        return hedges.get();
+    }
+
+    /**
+     * <p>Return the number of reads answered by a successful hedge rather
+     * than by the original request.</p>
+     */
+    public long getHedgeWins() {
+        return hedgeWins.get();
+    }
+
+    // Public Methods --------------------------------------------------------
+
+    /**
+     * <p>Interrupt any attempts still running, and stop accepting reads.</p>
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * <p>Perform the specified idempotent read, hedging it if it is slow.</p>
+     *
+     * @param operation Name of the operation (such as "AuthorClient.find"),
+     *                  used to track its latency
+     * @param read The read call
+     *
+     * @throws Exception thrown by the last attempt to fail, if every
+     *  attempt failed (with earlier failures added as suppressed)
+     * @throws java.util.concurrent.RejectedExecutionException if this
+     *  hedger has been closed
+     */
+    public <T> T read(String operation, ClientCall<T> read) throws Exception {
+
+        Latencies observed = latencies.computeIfAbsent(operation, k -> new Latencies());
+        CompletionService<T> completion = new ExecutorCompletionService<>(executor);
+        long primaryStart = System.nanoTime();
+        Future<T> primary = completion.submit(read::call);
+        Future<T> hedge = null;
+        long hedgeStart = 0;
+        int running = 1;
+        Throwable failure = null;
+        try {
+            Future<T> done = completion.poll(observed.delay(), TimeUnit.NANOSECONDS);
+            if (done == null) {
+                hedges.incrementAndGet();
+                hedgeStart = System.nanoTime();
+                hedge = completion.submit(read::call);
+                running++;
+                done = completion.take();
+            }
+            while (true) {
+                running--;
+                try {
+                    T result = done.get();
+                    if (done == hedge) {
+                        hedgeWins.incrementAndGet();
+                    }
+                    observed.record(System.nanoTime() - ((done == hedge) ? hedgeStart : primaryStart));
+                    return result;
+                } catch (ExecutionException e) {
+                    if (failure != null) {
+                        e.getCause().addSuppressed(failure);
+                    }
+                    failure = e.getCause();
+                }
+                if (running == 0) {
+                    if (failure instanceof Exception) {
+                        throw (Exception) failure;
+                    }
+                    throw (Error) failure;
+                }
+                done = completion.take();
+            }
+        } finally {
+            primary.cancel(true);
+            if (hedge != null) {
+                hedge.cancel(true);
+            }
+        }
+
+    }
+
+    // Package Methods -------------------------------------------------------
+
+    /**
+     * <p>Return the hedge delay currently used for the specified
+     * operation.</p>
+     */
+    long getDelayNanos(String operation) {
+        return latencies.computeIfAbsent(operation, k -> new Latencies()).delay();
+    }
+
+    // Private Classes -------------------------------------------------------
+
+    /**
+     * <p>Ring buffer of recent latencies for one operation, with a cached
+     * p95 that is recomputed periodically.</p>
+     */
+    private class Latencies {
+
+        private long count = 0;
+        private long p95 = initialDelayNanos;
+        private final long[] samples = new long[WINDOW];
+
+        synchronized long delay() {
+            return (count < MIN_SAMPLES) ? initialDelayNanos : Math.max(p95, MIN_DELAY_NANOS);
+        }
+
+        synchronized void record(long nanos) {
+            samples[(int) (count % WINDOW)] = nanos;
+            count++;
+            if ((count >= MIN_SAMPLES) && ((count % 16 == 0) || (count == MIN_SAMPLES))) {
+                long[] sorted = Arrays.copyOf(samples, (int) Math.min(count, WINDOW));
+                Arrays.sort(sorted);
+                p95 = sorted[(int) Math.ceil(0.95 * sorted.length) - 1];
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2020 craigmcc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.craigmcc.bookcase.client;
+
+import org.craigmcc.library.shared.exception.NotFound;
+import org.junit.Test;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertThrows;
+
+public class HedgerTest {
+
+    // Test Methods ----------------------------------------------------------
+
+    // close() tests
+
+    @Test
+    public void closeHappy() throws Exception {
+
+        Hedger hedger = new Hedger(500);
+        assertThat(hedger.read("fast", () -> "result"), is("result"));
+        hedger.close();
+        assertThrows(RejectedExecutionException.class,
+                () -> hedger.read("fast", () -> "result"));
+
+    }
+
+    // read() tests
+
+    @Test
+    public void readDelay() throws Exception {
+
+        // Every primary stalls and every hedge answers at once, so the
+        // delay must follow the hedges' own latency, not the total
+        try (Hedger hedger = new Hedger(50)) {
+            for (int i = 0; i < 20; i++) {
+                AtomicInteger attempts = new AtomicInteger();
+                hedger.read("stalled", () -> {
+                    if (attempts.incrementAndGet() == 1) {
+                        Thread.sleep(5000);
+                    }
+                    return "result";
+                });
+            }
+            assertThat(hedger.getHedgeWins(), is(20L));
+            assertThat(hedger.getDelayNanos("stalled"),
+                    is(lessThan(TimeUnit.MILLISECONDS.toNanos(50))));
+        }
+
+    }
+
+    @Test
+    public void readException() throws Exception {
+
+        // Fails before the hedge delay, so no hedge is sent
+        try (Hedger hedger = new Hedger(500)) {
+            assertThrows(NotFound.class,
+                    () -> hedger.read("missing", () -> { throw new NotFound("Missing"); }));
+            assertThat(hedger.getHedges(), is(0L));
+        }
+
+    }
+
+    @Test
+    public void readExceptionAll() throws Exception {
+
+        // Both attempts fail, so the last failure is thrown
+        try (Hedger hedger = new Hedger(50)) {
+            AtomicInteger attempts = new AtomicInteger();
+            NotFound e = assertThrows(NotFound.class, () -> hedger.read("missing", () -> {
+                int attempt = attempts.incrementAndGet();
+                Thread.sleep((attempt == 1) ? 100 : 200);
+                throw new NotFound("Missing " + attempt);
+            }));
+            assertThat(e.getMessage(), is("Missing 2"));
+            assertThat(e.getSuppressed().length, is(1));
+            assertThat(hedger.getHedges(), is(1L));
+            assertThat(hedger.getHedgeWins(), is(0L));
+        }
+
+    }
+
+    @Test
+    public void readExceptionPrimary() throws Exception {
+
+        // The first attempt fails after the hedge is sent, but before the
+        // hedge succeeds, so the hedge's result is returned
+        try (Hedger hedger = new Hedger(50)) {
+            AtomicInteger attempts = new AtomicInteger();
+            String result = hedger.read("flaky", () -> {
+                if (attempts.incrementAndGet() == 1) {
+                    Thread.sleep(100);
+                    throw new NotFound("Missing");
+                }
+                Thread.sleep(200);
+                return "result";
+            });
+            assertThat(result, is("result"));
+            assertThat(attempts.get(), is(2));
+            assertThat(hedger.getHedges(), is(1L));
+            assertThat(hedger.getHedgeWins(), is(1L));
+        }
+
+    }
+
+    @Test
+    public void readFast() throws Exception {
+
+        try (Hedger hedger = new Hedger(500)) {
+            for (int i = 0; i < 10; i++) {
+                assertThat(hedger.read("fast", () -> "result"), is("result"));
+            }
+            assertThat(hedger.getHedges(), is(0L));
+        }
+
+    }
+
+    @Test
+    public void readSlow() throws Exception {
+
+        // The first attempt stalls (like a GC pause), the hedge does not
+        try (Hedger hedger = new Hedger(50)) {
+            AtomicInteger attempts = new AtomicInteger();
+            long start = System.nanoTime();
+            String result = hedger.read("slow", () -> {
+                if (attempts.incrementAndGet() == 1) {
+                    Thread.sleep(5000);
+                }
+                return "result";
+            });
+            assertThat(result, is("result"));
+            assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+                    is(lessThan(1000L)));
+            assertThat(attempts.get(), is(2));
+            assertThat(hedger.getHedges(), is(1L));
+            assertThat(hedger.getHedgeWins(), is(1L));
+        }
+
+    }
+
+}
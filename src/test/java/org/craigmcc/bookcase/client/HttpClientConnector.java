@@ -0,0 +1,221 @@
+/*
+ * Copyright 2020 craigmcc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.craigmcc.bookcase.client;
+
+import org.glassfish.jersey.client.ClientProperties;
+import org.glassfish.jersey.client.ClientRequest;
+import org.glassfish.jersey.client.ClientResponse;
+import org.glassfish.jersey.client.spi.AsyncConnectorCallback;
+import org.glassfish.jersey.client.spi.Connector;
+import org.glassfish.jersey.message.internal.Statuses;
+
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.core.Configuration;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>Jersey {@link Connector} built on <code>java.net.http.HttpClient</code>.
+ * All requests to a server share one HTTP/2 connection (with multiplexed
+ * streams) when the server supports it, falling back to HTTP/1.1 when it
+ * does not.  Asynchronous requests are non-blocking, so no thread is held
+ * while a response is outstanding, and their responses are fully buffered
+ * before being handed back, so a small executor can serve thousands of
+ * requests in flight.</p>
+ *
+ * <p>Honors the {@link ClientProperties#CONNECT_TIMEOUT},
+ * {@link ClientProperties#READ_TIMEOUT} (per request), and
+ * {@link ClientProperties#FOLLOW_REDIRECTS} properties, plus
+ * {@link #EXECUTOR_THREADS} to bound the threads HttpClient uses.  The
+ * protocol version each response arrived over is left in the
+ * {@link #VERSION} request property, for filters and tests to check.</p>
+ */
+public class HttpClientConnector implements Connector {
+
+    // Manifest Constants ----------------------------------------------------
+
+    /**
+     * <p>Client property holding the number of threads in the fixed pool
+     * that HttpClient uses to complete responses.  If not set, HttpClient
+     * uses its own unbounded cached pool.</p>
+     */
+    public static final String EXECUTOR_THREADS = "bookcase.connector.threads";
+
+    /**
+     * <p>Request property set to the <code>HttpClient.Version</code> that
+     * the response was received over, once it has been received.</p>
+     */
+    public static final String VERSION = "bookcase.connector.version";
+
+    // Headers that HttpClient manages itself and refuses to accept
+    private static final Set<String> RESTRICTED_HEADERS = new HashSet<>(Arrays.asList(
+            "connection", "content-length", "date", "expect", "from", "host",
+            "upgrade", "via", "warning"));
+
+    // Constructors ----------------------------------------------------------
+
+    public HttpClientConnector(Configuration configuration) {
+        HttpClient.Builder builder = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2);
+        Object connectTimeout = configuration.getProperty(ClientProperties.CONNECT_TIMEOUT);
+        if ((connectTimeout instanceof Integer) && ((Integer) connectTimeout > 0)) {
+            builder.connectTimeout(Duration.ofMillis((Integer) connectTimeout));
+        }
+        Object followRedirects = configuration.getProperty(ClientProperties.FOLLOW_REDIRECTS);
+        builder.followRedirects(Boolean.FALSE.equals(followRedirects) ?
+                HttpClient.Redirect.NEVER : HttpClient.Redirect.NORMAL);
+        Object executorThreads = configuration.getProperty(EXECUTOR_THREADS);
+        if (executorThreads != null) {
+            AtomicInteger counter = new AtomicInteger();
+            this.executor = Executors.newFixedThreadPool(
+                    Integer.parseInt(executorThreads.toString()), r -> {
+                        Thread thread = new Thread(r, "http-client-" + counter.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            builder.executor(executor);
+        } else {
+            this.executor = null;
+        }
+        this.httpClient = builder.build();
+    }
+
+    // Instance Variables ----------------------------------------------------
+
+    // Pool created for EXECUTOR_THREADS, or null if HttpClient uses its own
+    private final ExecutorService executor;
+    private final HttpClient httpClient;
+
+    // Public Methods --------------------------------------------------------
+
+    @Override
+    public ClientResponse apply(ClientRequest request) {
+        try {
+            HttpResponse<InputStream> response = httpClient.send(
+                    toHttpRequest(request), HttpResponse.BodyHandlers.ofInputStream());
+            return toClientResponse(request, response, response.body());
+        } catch (IOException e) {
+            throw new ProcessingException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ProcessingException(e);
+        }
+    }
+
+    @Override
+    public Future<?> apply(ClientRequest request, AsyncConnectorCallback callback) {
+        HttpRequest httpRequest;
+        try {
+            httpRequest = toHttpRequest(request);
+        } catch (IOException e) {
+            callback.failure(e);
+            return CompletableFuture.completedFuture(null);
+        }
+        // Buffer the body so that reading the entity never blocks an executor thread
+        return httpClient
+                .sendAsync(httpRequest, HttpResponse.BodyHandlers.ofByteArray())
+                .whenComplete((response, failure) -> {
+                    if (failure != null) {
+                        callback.failure((failure instanceof CompletionException) ?
+                                failure.getCause() : failure);
+                        return;
+                    }
+                    try {
+                        callback.response(toClientResponse(request, response,
+                                new ByteArrayInputStream(response.body())));
+                    } catch (Throwable t) {
+                        callback.failure(t);
+                    }
+                });
+    }
+
+    @Override
+    public void close() {
+        // HttpClient releases its connections when no longer referenced
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "java.net.http.HttpClient " + httpClient.version();
+    }
+
+    // Private Methods -------------------------------------------------------
+
+    private ClientResponse toClientResponse(ClientRequest request,
+                                            HttpResponse<?> httpResponse,
+                                            InputStream entityStream) {
+        request.setProperty(VERSION, httpResponse.version());
+        ClientResponse response =
+                new ClientResponse(Statuses.from(httpResponse.statusCode()), request);
+        for (Map.Entry<String, List<String>> header : httpResponse.headers().map().entrySet()) {
+            if (!header.getKey().startsWith(":")) {
+                response.headers(header.getKey(), header.getValue());
+            }
+        }
+        response.setEntityStream(entityStream);
+        return response;
+    }
+
+    private HttpRequest toHttpRequest(ClientRequest request) throws IOException {
+
+        HttpRequest.Builder builder = HttpRequest.newBuilder(request.getUri());
+        Integer readTimeout = request.resolveProperty(ClientProperties.READ_TIMEOUT, 0);
+        if (readTimeout > 0) {
+            builder.timeout(Duration.ofMillis(readTimeout));
+        }
+
+        // Serialize the entity first, since that may add headers
+        HttpRequest.BodyPublisher body = HttpRequest.BodyPublishers.noBody();
+        if (request.hasEntity()) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            request.setStreamProvider(contentLength -> bytes);
+            request.writeEntity();
+            body = HttpRequest.BodyPublishers.ofByteArray(bytes.toByteArray());
+        }
+
+        for (Map.Entry<String, List<String>> header : request.getStringHeaders().entrySet()) {
+            if (!RESTRICTED_HEADERS.contains(header.getKey().toLowerCase(Locale.ROOT))) {
+                for (String value : header.getValue()) {
+                    builder.header(header.getKey(), value);
+                }
+            }
+        }
+        return builder.method(request.getMethod(), body).build();
+
+    }
+
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright 2020 craigmcc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.craigmcc.bookcase.client;
+
+import com.sun.net.httpserver.HttpServer;
+import org.glassfish.jersey.client.ClientConfig;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.ClientBuilder;
+import javax.ws.rs.client.ClientResponseFilter;
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.client.WebTarget;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+
+public class HttpClientConnectorTest {
+
+    // Instance Variables ----------------------------------------------------
+
+    private Client client;
+    private HttpServer server;
+    private WebTarget target;
+
+    // Lifecycle Methods -----------------------------------------------------
+
+    @Before
+    public void before() throws Exception {
+
+        // Echo the request method, body, and X-Test header back to the caller
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/echo", exchange -> {
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            try (InputStream in = exchange.getRequestBody()) {
+                byte[] buffer = new byte[1024];
+                int count;
+                while ((count = in.read(buffer)) >= 0) {
+                    body.write(buffer, 0, count);
+                }
+            }
+            byte[] response = (exchange.getRequestMethod() + ":" +
+                    body.toString(StandardCharsets.UTF_8.name())).getBytes(StandardCharsets.UTF_8);
+            String test = exchange.getRequestHeaders().getFirst("X-Test");
+            if (test != null) {
+                exchange.getResponseHeaders().add("X-Test", test);
+            }
+            exchange.getResponseHeaders().add("Content-Type", MediaType.TEXT_PLAIN);
+            exchange.sendResponseHeaders(200, response.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(response);
+            }
+        });
+        server.start();
+
+        client = ClientBuilder.newClient(new ClientConfig()
+                .connectorProvider(new HttpClientConnectorProvider()));
+        target = client.target("http://localhost:" + server.getAddress().getPort());
+
+    }
+
+    @After
+    public void after() throws Exception {
+        client.close();
+        server.stop(0);
+    }
+
+    // Test Methods ----------------------------------------------------------
+
+    @Test
+    public void asyncHappy() throws Exception {
+        String result = target.path("/echo")
+                .request(MediaType.TEXT_PLAIN)
+                .async()
+                .get(String.class)
+                .get(5, TimeUnit.SECONDS);
+        assertThat(result, is("GET:"));
+    }
+
+    @Test
+    public void closeHappy() throws Exception {
+
+        // A connector with its own pool stops that pool when closed
+        Client pooled = ClientBuilder.newClient(new ClientConfig()
+                .connectorProvider(new HttpClientConnectorProvider())
+                .property(HttpClientConnector.EXECUTOR_THREADS, 2));
+        assertThat(pooled.target(target.getUri())
+                .path("/echo")
+                .request(MediaType.TEXT_PLAIN)
+                .async()
+                .get(String.class)
+                .get(5, TimeUnit.SECONDS), is("GET:"));
+        List<Thread> threads = Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.getName().startsWith("http-client-"))
+                .collect(Collectors.toList());
+        assertThat(threads.size(), is(greaterThan(0)));
+        pooled.close();
+        for (Thread thread : threads) {
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+            assertThat(thread.isAlive(), is(false));
+        }
+
+    }
+
+    @Test
+    public void getHappy() throws Exception {
+        Response response = target.path("/echo")
+                .request(MediaType.TEXT_PLAIN)
+                .header("X-Test", "Value")
+                .get();
+        try {
+            assertThat(response.getStatus(), is(200));
+            assertThat(response.getHeaderString("X-Test"), is("Value"));
+            assertThat(response.readEntity(String.class), is("GET:"));
+        } finally {
+            response.close();
+        }
+    }
+
+    @Test
+    public void getNotFound() throws Exception {
+        Response response = target.path("/missing")
+                .request(MediaType.TEXT_PLAIN)
+                .get();
+        try {
+            assertThat(response.getStatus(), is(404));
+        } finally {
+            response.close();
+        }
+    }
+
+    @Test
+    public void getVersion() throws Exception {
+
+        // The JDK server only speaks HTTP/1.1, so the connector falls back
+        List<Object> versions = new CopyOnWriteArrayList<>();
+        ClientResponseFilter filter = (request, ignored) ->
+                versions.add(request.getProperty(HttpClientConnector.VERSION));
+        Response response = target.register(filter)
+                .path("/echo")
+                .request(MediaType.TEXT_PLAIN)
+                .get();
+        try {
+            assertThat(response.getStatus(), is(200));
+            assertThat(versions, contains(HttpClient.Version.HTTP_1_1));
+        } finally {
+            response.close();
+        }
+
+    }
+
+    @Test
+    public void postHappy() throws Exception {
+        Response response = target.path("/echo")
+                .request(MediaType.TEXT_PLAIN)
+                .post(Entity.text("Body"));
+        try {
+            assertThat(response.getStatus(), is(200));
+            assertThat(response.readEntity(String.class), is("POST:Body"));
+        } finally {
+            response.close();
+        }
+    }
+
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2020 craigmcc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.craigmcc.bookcase.client;
+
+import org.glassfish.jersey.client.ClientConfig;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.ClientBuilder;
+import javax.ws.rs.client.ClientResponseFilter;
+import javax.ws.rs.client.WebTarget;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import java.net.http.HttpClient;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static java.lang.Boolean.TRUE;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * <p>Check of the protocol version that {@link HttpClientConnector}
+ * negotiates with the server, for both synchronous and asynchronous
+ * requests.  It only runs when the <code>bookcase.http.version</code>
+ * system property names the version the server is expected to speak, for
+ * example
+ * <code>mvn test -Dtest=HttpVersionClientTest -Dbookcase.http.version=HTTP_2</code>,
+ * since a server without HTTP/2 (or behind a proxy without it) is
+ * silently answered over HTTP/1.1.</p>
+ */
+public class HttpVersionClientTest extends AbstractClientTest {
+
+    // Manifest Constants ----------------------------------------------------
+
+    public static final String VERSION_PROPERTY = "bookcase.http.version";
+
+    // Lifecycle Methods -----------------------------------------------------
+
+    @Before
+    public void before() {
+        if ((depopulateEnabled == null) || (TRUE == depopulateEnabled)) {
+            depopulate();
+        }
+        if ((populateEnabled == null) || (TRUE == populateEnabled)) {
+            populate();
+        }
+    }
+
+    // Test Methods ----------------------------------------------------------
+
+    @Test
+    public void version() throws Exception {
+
+        if (disabled() || (System.getProperty(VERSION_PROPERTY) == null)) {
+            return;
+        }
+
+        HttpClient.Version expected =
+                HttpClient.Version.valueOf(System.getProperty(VERSION_PROPERTY));
+        List<Object> versions = new CopyOnWriteArrayList<>();
+        ClientResponseFilter filter = (request, ignored) ->
+                versions.add(request.getProperty(HttpClientConnector.VERSION));
+        Client client = ClientBuilder.newClient(new ClientConfig()
+                .connectorProvider(new HttpClientConnectorProvider())
+                .register(filter));
+        try {
+
+            WebTarget authorsTarget = client
+                    .target(devModeClient.getBaseTarget().getUri())
+                    .path("/authors");
+            Response response = authorsTarget.request(MediaType.APPLICATION_JSON).get();
+            try {
+                assertThat(response.getStatus(), is(200));
+            } finally {
+                response.close();
+            }
+            response = authorsTarget.request(MediaType.APPLICATION_JSON)
+                    .async()
+                    .get()
+                    .get(5, TimeUnit.SECONDS);
+            try {
+                assertThat(response.getStatus(), is(200));
+            } finally {
+                response.close();
+            }
+            assertThat(versions, contains(expected, expected));
+
+        } finally {
+            client.close();
+        }
+
+    }
+
+}
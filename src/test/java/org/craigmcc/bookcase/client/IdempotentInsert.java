@@ -0,0 +1,163 @@
+/*
+ * Copyright 2020 craigmcc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.craigmcc.bookcase.client;
+
+import javax.ws.rs.ProcessingException;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * <p>Retry helper for <code>insert()</code> calls, which are not naturally
+ * idempotent: a <code>Book</code> or <code>Member</code> insert whose
+ * response was lost, then retried, silently creates a duplicate.  Each
+ * logical insert gets one idempotency key, which is passed to every
+ * attempt so that it can be sent in the {@link #HEADER} header, for
+ * example with <code>request().header(IdempotentInsert.HEADER, key)</code>
+ * or through {@link ResultClient#tryInsert}.  A server that honors the key
+ * can then discard repeats.  The key is an argument of the attempt rather
+ * than thread state, so it is not lost when an attempt runs on another
+ * thread, such as an async invoker.</p>
+ *
+ * <p>Attempts whose outcome is unknown (by default a
+ * {@link ProcessingException} or {@link Timeout}) are retried with the same
+ * key.  Failures with a definite outcome, such as <code>BadRequest</code>
+ * or <code>NotUnique</code>, are never retried, and
+ * {@link ResultClient#tryInsert} checks the model with {@link Validator}
+ * before sending it, so an invalid model costs no request at all.  For
+ * entities with a natural unique key, such as an <code>Author</code> name,
+ * a lookup can also be supplied to find the row an earlier attempt
+ * created; rows of other entities can legitimately be identical, so they
+ * must rely on the key alone.</p>
+ */
+public class IdempotentInsert {
+
+    // Manifest Constants ----------------------------------------------------
+
+    /**
+     * <p>Request header carrying the idempotency key of an insert.</p>
+     */
+    public static final String HEADER = "Idempotency-Key";
+
+    // Constructors ----------------------------------------------------------
+
+    public IdempotentInsert(int maxAttempts, long backoffMillis) {
+        this(maxAttempts, backoffMillis,
+                e -> (e instanceof ProcessingException) || (e instanceof Timeout));
+    }
+
+    public IdempotentInsert(int maxAttempts, long backoffMillis,
+                            Predicate<Exception> unknown) {
+        this.backoffMillis = backoffMillis;
+        this.maxAttempts = maxAttempts;
+        this.unknown = unknown;
+    }
+
+    // Instance Variables ----------------------------------------------------
+
+    private final AtomicLong attempts = new AtomicLong();
+    private final long backoffMillis;
+    private final AtomicLong found = new AtomicLong();
+    private final int maxAttempts;
+    private final Predicate<Exception> unknown;
+
+    // Property Methods ------------------------------------------------------
+
+    public long getAttempts() {
+        return attempts.get();
+    }
+
+    /**
+     * <p>Return the number of inserts resolved by finding the row created
+     * by an earlier attempt whose outcome was unknown.</p>
+     */
+    public long getFound() {
+        return found.get();
+    }
+
+    // Public Methods --------------------------------------------------------
+
+    /**
+     * <p>Insert a row, retrying attempts whose outcome is unknown with the
+     * same idempotency key.</p>
+     *
+     * @param insert Call that sends the insert with the specified key, such
+     *               as <code>key -&gt; resultClient.tryInsert(BOOKS, book, key)</code>
+     *
+     * @throws Exception the last failure if every attempt had an unknown
+     *  outcome, or any other exception thrown by the insert call
+     */
+    public <M> M insert(Insert<M> insert) throws Exception {
+        return insert(insert, null);
+    }
+
+    /**
+     * <p>Insert a row of an entity with a natural unique key, retrying
+     * attempts whose outcome is unknown, and returning the row created by
+     * an earlier attempt if the lookup finds one.  Do not use this for
+     * entities without a natural unique key, such as <code>Book</code> or
+     * <code>Member</code>, where the lookup cannot tell an earlier
+     * attempt's row from an identical row inserted on purpose.</p>
+     *
+     * @param insert Call that sends the insert with the specified key
+     * @param lookup Call that returns the row by its natural key, such as
+     *               an <code>Author</code> by name, or <code>null</code> if
+     *               there is none
+     *
+     * @throws Exception the last failure if every attempt had an unknown
+     *  outcome, or any other exception thrown by the insert or lookup calls
+     */
+    public <M> M insert(Insert<M> insert, ClientCall<M> lookup) throws Exception {
+        String key = UUID.randomUUID().toString();
+        for (int attempt = 1; ; attempt++) {
+            attempts.incrementAndGet();
+            try {
+                return insert.insert(key);
+            } catch (Exception e) {
+                if (!unknown.test(e) || (attempt >= maxAttempts)) {
+                    throw e;
+                }
+            }
+            long backoff = ThreadLocalRandom.current().nextLong(backoffMillis * attempt + 1);
+            TimeUnit.MILLISECONDS.sleep(backoff);
+            if (lookup != null) {
+                M existing = lookup.call();
+                if (existing != null) {
+                    found.incrementAndGet();
+                    return existing;
+                }
+            }
+        }
+    }
+
+    // Nested Interfaces -----------------------------------------------------
+
+    /**
+     * <p>A single insert attempt, which must send the specified idempotency
+     * key with its request.</p>
+     *
+     * @param <M> Type of the inserted row
+     */
+    @FunctionalInterface
+    public interface Insert<M> {
+
+        M insert(String key) throws Exception;
+
+    }
+
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2020 craigmcc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.craigmcc.bookcase.client;
+
+import org.craigmcc.library.shared.exception.BadRequest;
+import org.junit.Test;
+
+import javax.ws.rs.ProcessingException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.Assert.assertThrows;
+
+public class IdempotentInsertTest {
+
+    // Test Methods ----------------------------------------------------------
+
+    // insert() tests
+
+    @Test
+    public void insertBadRequest() throws Exception {
+
+        IdempotentInsert idempotent = new IdempotentInsert(3, 1);
+        assertThrows(BadRequest.class,
+                () -> idempotent.insert(key -> { throw new BadRequest("Invalid"); }));
+        assertThat(idempotent.getAttempts(), is(1L));
+
+    }
+
+    @Test
+    public void insertFound() throws Exception {
+
+        // The first attempt creates a row with a natural key, but its
+        // response is lost
+        IdempotentInsert idempotent = new IdempotentInsert(3, 1);
+        List<String> rows = new ArrayList<>();
+        String result = idempotent.insert(key -> {
+            rows.add("row");
+            throw new ProcessingException("Connection reset");
+        }, () -> rows.isEmpty() ? null : rows.get(0));
+        assertThat(result, is("row"));
+        assertThat(rows.size(), is(1));
+        assertThat(idempotent.getFound(), is(1L));
+
+    }
+
+    @Test
+    public void insertKey() throws Exception {
+
+        // Each attempt runs on its own thread, and still gets the same key
+        IdempotentInsert idempotent = new IdempotentInsert(3, 1);
+        List<String> keys = new ArrayList<>();
+        idempotent.insert(key -> {
+            int size = CompletableFuture.supplyAsync(() -> {
+                keys.add(key);
+                return keys.size();
+            }).join();
+            if (size < 3) {
+                throw new Timeout("No response");
+            }
+            return "row";
+        });
+        assertThat(keys.size(), is(3));
+        assertThat(keys.get(0), is(notNullValue()));
+        assertThat(keys.get(1), is(keys.get(0)));
+        assertThat(keys.get(2), is(keys.get(0)));
+
+        // A new insert gets a new key
+        List<String> others = new ArrayList<>();
+        idempotent.insert(key -> others.add(key));
+        assertThat(others.get(0).equals(keys.get(0)), is(false));
+
+    }
+
+    @Test
+    public void insertRetried() throws Exception {
+
+        // The first attempt fails before reaching the server
+        IdempotentInsert idempotent = new IdempotentInsert(3, 1);
+        AtomicInteger attempts = new AtomicInteger();
+        String result = idempotent.insert(key -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new ProcessingException("Connection refused");
+            }
+            return "row";
+        });
+        assertThat(result, is("row"));
+        assertThat(idempotent.getAttempts(), is(2L));
+        assertThat(idempotent.getFound(), is(0L));
+
+    }
+
+    @Test
+    public void insertUnknown() throws Exception {
+
+        IdempotentInsert idempotent = new IdempotentInsert(2, 1);
+        assertThrows(Timeout.class,
+                () -> idempotent.insert(key -> { throw new Timeout("No response"); }));
+        assertThat(idempotent.getAttempts(), is(2L));
+
+    }
+
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2020 craigmcc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.craigmcc.bookcase.client;
+
+import org.craigmcc.bookcase.model.Author;
+import org.glassfish.jersey.client.ClientConfig;
+import org.glassfish.jersey.client.ClientProperties;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.ClientBuilder;
+import javax.ws.rs.client.InvocationCallback;
+import javax.ws.rs.client.WebTarget;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.lang.Boolean.TRUE;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+
+/**
+ * <p>Benchmark that issues many concurrent <code>find()</code> and
+ * <code>findAll()</code> calls for authors through
+ * {@link HttpClientConnector}, with a small fixed pool of threads, and
+ * checks the heap retained per request in flight (at most
+ * <code>bookcase.inflight.bytes</code>, 64 KiB by default) and the threads
+ * added while they run.  It only runs when the
+ * <code>bookcase.inflight.requests</code> system property is set, for
+ * example
+ * <code>mvn test -Dtest=InFlightClientTest -Dbookcase.inflight.requests=10000</code>.
+ * Against an HTTP/1.1 server each request in flight still needs its own
+ * socket, so the open file limit must allow for that.</p>
+ */
+public class InFlightClientTest extends AbstractClientTest {
+
+    // Manifest Constants ----------------------------------------------------
+
+    public static final String BYTES_PROPERTY = "bookcase.inflight.bytes";
+    public static final String REQUESTS_PROPERTY = "bookcase.inflight.requests";
+    public static final String THREADS_PROPERTY = "bookcase.inflight.threads";
+
+    // Threads the JVM may add beyond the two pools, before the test fails
+    private static final int THREAD_SLACK = 16;
+
+    // Instance Variables ----------------------------------------------------
+
+    private final AuthorClient authorClient = new AuthorClient();
+
+    // Lifecycle Methods -----------------------------------------------------
+
+    @Before
+    public void before() {
+        if ((depopulateEnabled == null) || (TRUE == depopulateEnabled)) {
+            depopulate();
+        }
+        if ((populateEnabled == null) || (TRUE == populateEnabled)) {
+            populate();
+        }
+    }
+
+    // Test Methods ----------------------------------------------------------
+
+    @Test
+    public void inFlight() throws Exception {
+
+        if (disabled() || (System.getProperty(REQUESTS_PROPERTY) == null)) {
+            return;
+        }
+
+        int requests = Integer.parseInt(System.getProperty(REQUESTS_PROPERTY));
+        int threads = Integer.parseInt(System.getProperty(THREADS_PROPERTY, "4"));
+        long maxBytes = Long.parseLong(System.getProperty(BYTES_PROPERTY, "65536"));
+        List<Author> authors = authorClient.findAll();
+        assertThat(authors.size(), is(greaterThan(0)));
+
+        Client client = ClientBuilder.newClient(new ClientConfig()
+                .connectorProvider(new HttpClientConnectorProvider())
+                .property(ClientProperties.ASYNC_THREADPOOL_SIZE, threads)
+                .property(HttpClientConnector.EXECUTOR_THREADS, threads));
+        try {
+
+            WebTarget authorsTarget = client
+                    .target(devModeClient.getBaseTarget().getUri())
+                    .path("/authors");
+            MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+            ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+
+            // Warm up the connector so that its pools are already started
+            authorsTarget.request(MediaType.APPLICATION_JSON).get().close();
+            memory.gc();
+            long baselineHeap = memory.getHeapMemoryUsage().getUsed();
+            int baselineThreads = threadBean.getThreadCount();
+            threadBean.resetPeakThreadCount();
+
+            // Issue every request before waiting for any of them
+            AtomicInteger failures = new AtomicInteger();
+            AtomicInteger inFlight = new AtomicInteger();
+            CountDownLatch latch = new CountDownLatch(requests);
+            InvocationCallback<Response> callback = new InvocationCallback<Response>() {
+                @Override
+                public void completed(Response response) {
+                    if (response.getStatus() != Response.Status.OK.getStatusCode()) {
+                        failures.incrementAndGet();
+                    }
+                    response.close();
+                    inFlight.decrementAndGet();
+                    latch.countDown();
+                }
+                @Override
+                public void failed(Throwable throwable) {
+                    failures.incrementAndGet();
+                    inFlight.decrementAndGet();
+                    latch.countDown();
+                }
+            };
+            for (int i = 0; i < requests; i++) {
+                WebTarget target = (i % 2 == 0) ? authorsTarget :
+                        authorsTarget.path("/" + authors.get(i % authors.size()).getId());
+                inFlight.incrementAndGet();
+                target.request(MediaType.APPLICATION_JSON).async().get(callback);
+            }
+
+            // Measure what the outstanding requests retain
+            int outstanding = inFlight.get();
+            memory.gc();
+            long inFlightHeap = memory.getHeapMemoryUsage().getUsed() - baselineHeap;
+
+            assertThat(latch.await(5, TimeUnit.MINUTES), is(true));
+            int addedThreads = threadBean.getPeakThreadCount() - baselineThreads;
+            assertThat(failures.get(), is(0));
+            assertThat(addedThreads, is(lessThan(2 * threads + THREAD_SLACK)));
+            if (outstanding > 0) {
+                assertThat(inFlightHeap / outstanding, is(lessThan(maxBytes)));
+            }
+
+        } finally {
+            client.close();
+        }
+
+    }
+
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2020 craigmcc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.craigmcc.bookcase.client;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * <p>Latency budget for one kind of client call, expressed as p50 and p99
+ * limits in milliseconds.  Calls are timed through {@link #time}, and
+ * {@link #verify} fails with an {@link AssertionError} (including a
+ * latency histogram) if either percentile is over budget.</p>
+ *
+ * <p>Budgets are multiplied by the <code>bookcase.budget.scale</code>
+ * system property (default 1.0), so that the same limits can be used
+ * on slower machines.</p>
+ */
+public class LatencyBudget {
+
+    // Manifest Constants ----------------------------------------------------
+
+    public static final String SCALE_PROPERTY = "bookcase.budget.scale";
+
+    // Upper bounds (in milliseconds) of the histogram buckets
+    private static final double[] BUCKETS =
+            { 0.5, 1, 2, 5, 10, 20, 50, 100, 200, 500, 1000 };
+
+    // Constructors ----------------------------------------------------------
+
+    public LatencyBudget(String name, double p50Millis, double p99Millis) {
+        double scale = Double.parseDouble(System.getProperty(SCALE_PROPERTY, "1.0"));
+        this.name = name;
+        this.p50Millis = p50Millis * scale;
+        this.p99Millis = p99Millis * scale;
+    }
+
+    // Instance Variables ----------------------------------------------------
+
+    private final String name;
+    private final double p50Millis;
+    private final double p99Millis;
+    private final List<Long> samples = new ArrayList<>();
+
+    // Public Methods --------------------------------------------------------
+
+    /**
+     * <p>Return the latency (in milliseconds) at the specified percentile
+     * of the samples recorded so far, or zero if there are none.</p>
+     *
+     * @param percentile Percentile (0-100) to be returned
+     */
+    public synchronized double percentile(double percentile) {
+        if (samples.isEmpty()) {
+            return 0.0;
+        }
+        List<Long> sorted = new ArrayList<>(samples);
+        Collections.sort(sorted);
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.size());
+        return toMillis(sorted.get(Math.max(rank, 1) - 1));
+    }
+
+    /**
+     * <p>Record a latency sample that was measured elsewhere.</p>
+     *
+     * @param nanos Elapsed time in nanoseconds
+     */
+    public synchronized void record(long nanos) {
+        samples.add(nanos);
+    }
+
+    public synchronized int size() {
+        return samples.size();
+    }
+
+    /**
+     * <p>Perform the specified call, record how long it took (whether or not
+     * it succeeded), and return its result.</p>
+     *
+     * @param call Client call to be timed
+     *
+     * @throws Exception if thrown by the call
+     */
+    public <T> T time(ClientCall<T> call) throws Exception {
+        long start = System.nanoTime();
+        try {
+            return call.call();
+        } finally {
+            record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * <p>Throw an {@link AssertionError} describing the recorded latency
+     * distribution if the p50 or p99 latency exceeds its budget.</p>
+     */
+    public synchronized void verify() {
+        double p50 = percentile(50);
+        double p99 = percentile(99);
+        if ((p50 > p50Millis) || (p99 > p99Millis)) {
+            throw new AssertionError(String.format(
+                    "%s over budget: p50=%.3fms (budget %.3fms), p99=%.3fms (budget %.3fms)%n%s",
+                    name, p50, p50Millis, p99, p99Millis, histogram()));
+        }
+    }
+
+    // Private Methods -------------------------------------------------------
+
+    private String histogram() {
+        int[] counts = new int[BUCKETS.length + 1];
+        for (Long sample : samples) {
+            double millis = toMillis(sample);
+            int bucket = 0;
+            while ((bucket < BUCKETS.length) && (millis > BUCKETS[bucket])) {
+                bucket++;
+            }
+            counts[bucket]++;
+        }
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 0) {
+                continue;
+            }
+            String label = (i < BUCKETS.length) ?
+                    String.format("<= %6.1fms", BUCKETS[i]) :
+                    String.format(" > %6.1fms", BUCKETS[BUCKETS.length - 1]);
+            int width = (int) Math.ceil(40.0 * counts[i] / samples.size());
+            sb.append(String.format("  %s %6d ", label, counts[i]));
+            for (int j = 0; j < width; j++) {
+                sb.append('#');
+            }
+            sb.append(System.lineSeparator());
+        }
+        return sb.toString();
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+}
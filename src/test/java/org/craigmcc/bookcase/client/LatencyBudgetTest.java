@@ -0,0 +1,88 @@
+/*
+ * Copyright 2020 craigmcc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.craigmcc.bookcase.client;
+
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThrows;
+
+public class LatencyBudgetTest {
+
+    // Test Methods ----------------------------------------------------------
+
+    // percentile() tests
+
+    @Test
+    public void percentileHappy() throws Exception {
+
+        LatencyBudget budget = new LatencyBudget("percentile", 1.0, 1.0);
+        assertThat(budget.percentile(50), is(0.0));
+        for (int i = 1; i <= 100; i++) {
+            budget.record(i * 1_000_000L);
+        }
+        assertThat(budget.size(), is(100));
+        assertThat(budget.percentile(50), is(50.0));
+        assertThat(budget.percentile(99), is(99.0));
+        assertThat(budget.percentile(100), is(100.0));
+
+    }
+
+    // time() tests
+
+    @Test
+    public void timeHappy() throws Exception {
+
+        LatencyBudget budget = new LatencyBudget("time", 1000.0, 1000.0);
+        assertThat(budget.time(() -> "result"), is("result"));
+        assertThrows(IllegalStateException.class,
+                () -> budget.time(() -> { throw new IllegalStateException(); }));
+        assertThat(budget.size(), is(2));
+
+    }
+
+    // verify() tests
+
+    @Test
+    public void verifyHappy() throws Exception {
+
+        LatencyBudget budget = new LatencyBudget("verify", 5.0, 10.0);
+        for (int i = 0; i < 100; i++) {
+            budget.record(1_000_000L);
+        }
+        budget.verify();
+
+    }
+
+    @Test
+    public void verifyOverBudget() throws Exception {
+
+        LatencyBudget budget = new LatencyBudget("AuthorClient.find", 5.0, 10.0);
+        for (int i = 0; i < 95; i++) {
+            budget.record(1_000_000L);
+        }
+        for (int i = 0; i < 5; i++) {
+            budget.record(50_000_000L);
+        }
+        AssertionError e = assertThrows(AssertionError.class, budget::verify);
+        assertThat(e.getMessage(), containsString("AuthorClient.find over budget"));
+        assertThat(e.getMessage(), containsString("#"));
+
+    }
+
+}
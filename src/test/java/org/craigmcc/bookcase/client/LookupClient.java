@@ -0,0 +1,166 @@
+/*
+ * Copyright 2020 craigmcc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.craigmcc.bookcase.client;
+
+import org.craigmcc.bookcase.model.Member;
+import org.craigmcc.bookcase.model.Story;
+import org.craigmcc.library.shared.exception.InternalServerError;
+import org.craigmcc.library.shared.exception.NotFound;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * <p>Lookups of members and stories by their parent IDs that the individual
+ * entity clients do not offer.  Results are grouped by parent ID (in the
+ * order the IDs were specified), with each group in ordinal order.</p>
+ *
+ * <p>Lookups by a set of series or anthology IDs make one
+ * <code>findBySeriesId()</code> or <code>findByAnthologyId()</code> call per
+ * requested ID, so their cost grows with the number of IDs rather than with
+ * the size of the table, and each group keeps the ordinal order the server
+ * returns.  Listing every series or anthology with its children is the one
+ * case where a single <code>findAll()</code> is cheaper, and has its own
+ * methods.</p>
+ *
+ * <p>The server has no endpoint that finds members or stories by book, so
+ * the by-book methods download the whole member or story list and filter
+ * it here.  Each call costs one full scan no matter how many book IDs are
+ * requested, so callers should ask for every book they need at once rather
+ * than calling once per book.</p>
+ */
+public class LookupClient {
+
+    // Instance Variables ----------------------------------------------------
+
+    private final MemberClient memberClient = new MemberClient();
+    private final StoryClient storyClient = new StoryClient();
+
+    // Public Methods --------------------------------------------------------
+
+    /**
+     * <p>Return the members of every series that has any, grouped by series
+     * ID, with a single <code>findAll()</code> call.  Only use this when
+     * (nearly) all series are wanted; the list of every member is
+     * downloaded regardless.</p>
+     */
+    public Map<Long, List<Member>> findAllMembersBySeriesId()
+            throws InternalServerError {
+        return group(memberClient.findAll(), Member::getSeriesId,
+                Comparator.comparing(Member::getOrdinal));
+    }
+
+    /**
+     * <p>Return the stories of every anthology that has any, grouped by
+     * anthology ID, with a single <code>findAll()</code> call.  Only use this
+     * when (nearly) all anthologies are wanted; the list of every story is
+     * downloaded regardless.</p>
+     */
+    public Map<Long, List<Story>> findAllStoriesByAnthologyId()
+            throws InternalServerError {
+        return group(storyClient.findAll(), Story::getAnthologyId,
+                Comparator.comparing(Story::getOrdinal));
+    }
+
+    public Map<Long, List<Member>> findMembersByBookIds(Collection<Long> bookIds)
+            throws InternalServerError {
+        return group(memberClient.findAll(), bookIds,
+                Member::getBookId, Comparator.comparing(Member::getOrdinal));
+    }
+
+    public Map<Long, List<Member>> findMembersBySeriesIds(Collection<Long> seriesIds)
+            throws InternalServerError, NotFound {
+        Map<Long, List<Member>> results = new LinkedHashMap<>();
+        for (Long seriesId : seriesIds) {
+            results.put(seriesId, memberClient.findBySeriesId(seriesId));
+        }
+        return results;
+    }
+
+    public Map<Long, List<Story>> findStoriesByAnthologyIds(Collection<Long> anthologyIds)
+            throws InternalServerError, NotFound {
+        Map<Long, List<Story>> results = new LinkedHashMap<>();
+        for (Long anthologyId : anthologyIds) {
+            results.put(anthologyId, storyClient.findByAnthologyId(anthologyId));
+        }
+        return results;
+    }
+
+    public Map<Long, List<Story>> findStoriesByBookIds(Collection<Long> bookIds)
+            throws InternalServerError {
+        return group(storyClient.findAll(), bookIds,
+                Story::getBookId, Comparator.comparing(Story::getOrdinal));
+    }
+
+    // Private Methods -------------------------------------------------------
+
+    /**
+     * <p>Group the specified entities by parent ID, in order of first
+     * appearance of each parent ID.</p>
+     *
+     * @param entities Entities to be grouped
+     * @param parentId Function extracting the parent ID from an entity
+     * @param order Comparator used to sort each group
+     */
+    private static <E> Map<Long, List<E>> group(List<E> entities,
+                                                 Function<E, Long> parentId,
+                                                 Comparator<E> order) {
+        Map<Long, List<E>> results = new LinkedHashMap<>();
+        for (E entity : entities) {
+            results.computeIfAbsent(parentId.apply(entity), k -> new ArrayList<>()).add(entity);
+        }
+        for (List<E> list : results.values()) {
+            list.sort(order);
+        }
+        return results;
+    }
+
+    /**
+     * <p>Group the specified entities by parent ID, retaining only those
+     * whose parent ID is one of the requested ones.  Every requested ID
+     * has an entry in the result, even if its list is empty.</p>
+     *
+     * @param entities Entities to be grouped
+     * @param parentIds Parent IDs to be included
+     * @param parentId Function extracting the parent ID from an entity
+     * @param order Comparator used to sort each group
+     */
+    private static <E> Map<Long, List<E>> group(List<E> entities,
+                                                 Collection<Long> parentIds,
+                                                 Function<E, Long> parentId,
+                                                 Comparator<E> order) {
+        Map<Long, List<E>> results = new LinkedHashMap<>();
+        for (Long id : parentIds) {
+            results.put(id, new ArrayList<>());
+        }
+        for (E entity : entities) {
+            List<E> list = results.get(parentId.apply(entity));
+            if (list != null) {
+                list.add(entity);
+            }
+        }
+        for (List<E> list : results.values()) {
+            list.sort(order);
+        }
+        return results;
+    }
+
+}
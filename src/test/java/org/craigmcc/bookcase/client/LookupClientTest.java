@@ -0,0 +1,229 @@
+/*
+ * Copyright 2020 craigmcc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.craigmcc.bookcase.client;
+
+import org.craigmcc.bookcase.model.Anthology;
+import org.craigmcc.bookcase.model.Book;
+import org.craigmcc.bookcase.model.Member;
+import org.craigmcc.bookcase.model.Series;
+import org.craigmcc.bookcase.model.Story;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static java.lang.Boolean.TRUE;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+
+public class LookupClientTest extends AbstractClientTest {
+
+    // Instance Variables ----------------------------------------------------
+
+    private final AnthologyClient anthologyClient = new AnthologyClient();
+    private final BookClient bookClient = new BookClient();
+    private final LookupClient lookupClient = new LookupClient();
+    private final MemberClient memberClient = new MemberClient();
+    private final SeriesClient seriesClient = new SeriesClient();
+    private final StoryClient storyClient = new StoryClient();
+
+    // Lifecycle Methods -----------------------------------------------------
+
+    @Before
+    public void before() {
+        if ((depopulateEnabled == null) || (TRUE == depopulateEnabled)) {
+            depopulate();
+        }
+        if ((populateEnabled == null) || (TRUE == populateEnabled)) {
+            populate();
+        }
+    }
+
+    // Test Methods ----------------------------------------------------------
+
+    // findAllMembersBySeriesId() tests
+
+    @Test
+    public void findAllMembersBySeriesIdHappy() throws Exception {
+
+        List<Member> members = memberClient.findAll();
+        assertThat(members.size(), is(greaterThan(0)));
+
+        int count = 0;
+        for (Map.Entry<Long, List<Member>> entry :
+                lookupClient.findAllMembersBySeriesId().entrySet()) {
+            List<Member> expected = memberClient.findBySeriesId(entry.getKey());
+            assertThat(entry.getValue().size(), is(expected.size()));
+            for (int i = 0; i < expected.size(); i++) {
+                assertThat(entry.getValue().get(i).equals(expected.get(i)), is(true));
+            }
+            count += expected.size();
+        }
+        assertThat(count, is(members.size()));
+
+    }
+
+    // findAllStoriesByAnthologyId() tests
+
+    @Test
+    public void findAllStoriesByAnthologyIdHappy() throws Exception {
+
+        List<Story> stories = storyClient.findAll();
+        assertThat(stories.size(), is(greaterThan(0)));
+
+        int count = 0;
+        for (Map.Entry<Long, List<Story>> entry :
+                lookupClient.findAllStoriesByAnthologyId().entrySet()) {
+            List<Story> expected = storyClient.findByAnthologyId(entry.getKey());
+            assertThat(entry.getValue().size(), is(expected.size()));
+            for (int i = 0; i < expected.size(); i++) {
+                assertThat(entry.getValue().get(i).equals(expected.get(i)), is(true));
+            }
+            count += expected.size();
+        }
+        assertThat(count, is(stories.size()));
+
+    }
+
+    // findMembersByBookIds() tests
+
+    @Test
+    public void findMembersByBookIdsHappy() throws Exception {
+
+        List<Member> members = memberClient.findAll();
+        assertThat(members.size(), is(greaterThan(0)));
+
+        Map<Long, List<Member>> grouped =
+                lookupClient.findMembersByBookIds(findBookIds());
+        int count = 0;
+        for (Map.Entry<Long, List<Member>> entry : grouped.entrySet()) {
+            for (Member member : entry.getValue()) {
+                assertThat(member.getBookId(), is(entry.getKey()));
+                count++;
+            }
+        }
+        assertThat(count, is(members.size()));
+
+    }
+
+    @Test
+    public void findMembersByBookIdsNotFound() throws Exception {
+        assertThat(lookupClient.findMembersByBookIds(Collections.singletonList(Long.MAX_VALUE))
+                .get(Long.MAX_VALUE).size(), is(0));
+    }
+
+    // findMembersBySeriesIds() tests
+
+    @Test
+    public void findMembersBySeriesIdsHappy() throws Exception {
+
+        List<Long> seriesIds = new ArrayList<>();
+        for (Series series : seriesClient.findAll()) {
+            seriesIds.add(series.getId());
+        }
+        assertThat(seriesIds.size(), is(greaterThan(0)));
+
+        Map<Long, List<Member>> grouped =
+                lookupClient.findMembersBySeriesIds(seriesIds);
+        assertThat(new ArrayList<>(grouped.keySet()), is(seriesIds));
+        int count = 0;
+        for (Map.Entry<Long, List<Member>> entry : grouped.entrySet()) {
+            Integer previousOrdinal = null;
+            for (Member member : entry.getValue()) {
+                assertThat(member.getSeriesId(), is(entry.getKey()));
+                if (previousOrdinal != null) {
+                    assertThat(member.getOrdinal(), is(greaterThan(previousOrdinal)));
+                }
+                previousOrdinal = member.getOrdinal();
+                count++;
+            }
+        }
+        assertThat(count, is(memberClient.findAll().size()));
+
+    }
+
+    // findStoriesByAnthologyIds() tests
+
+    @Test
+    public void findStoriesByAnthologyIdsHappy() throws Exception {
+
+        List<Long> anthologyIds = new ArrayList<>();
+        for (Anthology anthology : anthologyClient.findAll()) {
+            anthologyIds.add(anthology.getId());
+        }
+        assertThat(anthologyIds.size(), is(greaterThan(0)));
+
+        Map<Long, List<Story>> grouped =
+                lookupClient.findStoriesByAnthologyIds(anthologyIds);
+        assertThat(new ArrayList<>(grouped.keySet()), is(anthologyIds));
+        int count = 0;
+        for (Map.Entry<Long, List<Story>> entry : grouped.entrySet()) {
+            Integer previousOrdinal = null;
+            for (Story story : entry.getValue()) {
+                assertThat(story.getAnthologyId(), is(entry.getKey()));
+                if (previousOrdinal != null) {
+                    assertThat(story.getOrdinal(), is(greaterThan(previousOrdinal)));
+                }
+                previousOrdinal = story.getOrdinal();
+                count++;
+            }
+        }
+        assertThat(count, is(storyClient.findAll().size()));
+
+    }
+
+    // findStoriesByBookIds() tests
+
+    @Test
+    public void findStoriesByBookIdsHappy() throws Exception {
+
+        List<Story> stories = storyClient.findAll();
+        assertThat(stories.size(), is(greaterThan(0)));
+
+        Map<Long, List<Story>> grouped =
+                lookupClient.findStoriesByBookIds(findBookIds());
+        int count = 0;
+        for (Map.Entry<Long, List<Story>> entry : grouped.entrySet()) {
+            for (Story story : entry.getValue()) {
+                assertThat(story.getBookId(), is(entry.getKey()));
+                count++;
+            }
+        }
+        assertThat(count, is(stories.size()));
+
+    }
+
+    @Test
+    public void findStoriesByBookIdsNotFound() throws Exception {
+        assertThat(lookupClient.findStoriesByBookIds(Collections.singletonList(Long.MAX_VALUE))
+                .get(Long.MAX_VALUE).size(), is(0));
+    }
+
+    // Private Methods -------------------------------------------------------
+
+    private List<Long> findBookIds() throws Exception {
+        List<Long> bookIds = new ArrayList<>();
+        for (Book book : bookClient.findAll()) {
+            bookIds.add(book.getId());
+        }
+        return bookIds;
+    }
+
+}
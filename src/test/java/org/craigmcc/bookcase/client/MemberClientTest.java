@@ -27,6 +27,7 @@ import java.util.List;
 
 import static java.lang.Boolean.TRUE;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.notNullValue;
@@ -97,10 +98,8 @@ public class MemberClientTest extends AbstractClientTest {
     @Test
     public void findHappy() throws Exception {
         List<Member> members = memberClient.findAll();
-        for (Member member : members) {
-            Member found = memberClient.find(member.getId());
-            assertThat(found.equals(member), is(true));
-        }
+        assertThat(new ConsistencyVerifier(8).verify(members, Member::getId, memberClient::find),
+                is(empty()));
     }
 
     @Test
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2020 craigmcc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.craigmcc.bookcase.client;
+
+import org.craigmcc.bookcase.model.Author;
+import org.craigmcc.bookcase.model.Book;
+import org.craigmcc.bookcase.model.Series;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+
+import static java.lang.Boolean.TRUE;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * <p>Latency budgets for the read paths of the entity clients, at the data
+ * volume created by <code>DevModeClient.populate()</code>.  Use the
+ * <code>bookcase.budget.scale</code> system property to loosen or tighten
+ * every budget at once.</p>
+ */
+public class PerformanceClientTest extends AbstractClientTest {
+
+    // Manifest Constants ----------------------------------------------------
+
+    // Number of timed passes over the test data (after one warmup pass)
+    private static final int PASSES = 20;
+
+    // Instance Variables ----------------------------------------------------
+
+    private final AuthorClient authorClient = new AuthorClient();
+    private final BookClient bookClient = new BookClient();
+    private final MemberClient memberClient = new MemberClient();
+    private final SeriesClient seriesClient = new SeriesClient();
+
+    // Lifecycle Methods -----------------------------------------------------
+
+    @Before
+    public void before() {
+        if ((depopulateEnabled == null) || (TRUE == depopulateEnabled)) {
+            depopulate();
+        }
+        if ((populateEnabled == null) || (TRUE == populateEnabled)) {
+            populate();
+        }
+    }
+
+    // Test Methods ----------------------------------------------------------
+
+    @Test
+    public void authorFindBudget() throws Exception {
+
+        List<Author> authors = authorClient.findAll();
+        assertThat(authors.size(), is(greaterThan(0)));
+
+        LatencyBudget budget = new LatencyBudget("AuthorClient.find", 2.0, 5.0);
+        for (int pass = 0; pass <= PASSES; pass++) {
+            for (Author author : authors) {
+                if (pass == 0) {
+                    authorClient.find(author.getId());
+                } else {
+                    budget.time(() -> authorClient.find(author.getId()));
+                }
+            }
+        }
+        budget.verify();
+
+    }
+
+    @Test
+    public void authorFindAllBudget() throws Exception {
+
+        LatencyBudget budget = new LatencyBudget("AuthorClient.findAll", 5.0, 20.0);
+        authorClient.findAll();
+        for (int pass = 0; pass < PASSES; pass++) {
+            budget.time(() -> authorClient.findAll());
+        }
+        budget.verify();
+
+    }
+
+    @Test
+    public void bookFindBudget() throws Exception {
+
+        List<Book> books = bookClient.findAll();
+        assertThat(books.size(), is(greaterThan(0)));
+
+        LatencyBudget budget = new LatencyBudget("BookClient.find", 2.0, 5.0);
+        for (int pass = 0; pass <= PASSES; pass++) {
+            for (Book book : books) {
+                if (pass == 0) {
+                    bookClient.find(book.getId());
+                } else {
+                    budget.time(() -> bookClient.find(book.getId()));
+                }
+            }
+        }
+        budget.verify();
+
+    }
+
+    @Test
+    public void memberFindBySeriesIdBudget() throws Exception {
+
+        List<Series> serieses = seriesClient.findAll();
+        assertThat(serieses.size(), is(greaterThan(0)));
+
+        LatencyBudget budget = new LatencyBudget("MemberClient.findBySeriesId", 2.0, 5.0);
+        for (int pass = 0; pass <= PASSES; pass++) {
+            for (Series series : serieses) {
+                if (pass == 0) {
+                    memberClient.findBySeriesId(series.getId());
+                } else {
+                    budget.time(() -> memberClient.findBySeriesId(series.getId()));
+                }
+            }
+        }
+        budget.verify();
+
+    }
+
+}
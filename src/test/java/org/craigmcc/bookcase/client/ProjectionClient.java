@@ -0,0 +1,229 @@
+/*
+ * Copyright 2020 craigmcc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.craigmcc.bookcase.client;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.craigmcc.library.shared.exception.InternalServerError;
+
+import javax.ws.rs.client.WebTarget;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>Lists of entities reduced to the few fields most callers need, such as
+ * {@link BookSummary} instead of <code>Book</code>.  Each request names the
+ * wanted fields in the {@link #FIELDS_PARAM} query parameter, so a server
+ * that supports sparse fieldsets can leave the rest out; whatever else the
+ * server sends is skipped while parsing, without building dates, notes, or
+ * other unused values.</p>
+ */
+public class ProjectionClient extends AbstractClient {
+
+    // Manifest Constants ----------------------------------------------------
+
+    /**
+     * <p>Query parameter carrying the comma separated names of the fields
+     * wanted in the response.</p>
+     */
+    public static final String FIELDS_PARAM = "fields";
+
+    private static final Map<Class<?>, String> FIELDS = new ConcurrentHashMap<>();
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    // Instance Variables ----------------------------------------------------
+
+    // Base target with the shared ResponseTracker (if enabled) registered
+    // once, so that derived targets share one Jersey runtime
+    private final WebTarget trackedTarget = ResponseTracker.track(getBaseTarget());
+
+    // Public Methods --------------------------------------------------------
+
+    /**
+     * <p>Return every entity of the specified resource, as the specified
+     * projection.</p>
+     *
+     * @param resource Resource to be listed
+     * @param projection Projection class, such as {@link BookSummary}
+     *
+     * @throws InternalServerError if the list could not be retrieved
+     */
+    public <P> List<P> findAll(Resource resource, Class<P> projection)
+            throws InternalServerError {
+
+        Response response = trackedTarget
+                .path(resource.getPath())
+                .queryParam(FIELDS_PARAM, fields(projection))
+                .request(MediaType.APPLICATION_JSON)
+                .get();
+        try {
+            if (response.getStatus() != Response.Status.OK.getStatusCode()) {
+                throw new InternalServerError(response.readEntity(String.class));
+            }
+            return read(response.readEntity(InputStream.class), projection);
+        } catch (IOException e) {
+            throw new InternalServerError(e.getMessage());
+        } finally {
+            response.close();
+        }
+
+    }
+
+    // Package Methods -------------------------------------------------------
+
+    /**
+     * <p>Return the comma separated names of the instance fields of the
+     * specified projection class, in alphabetical order.</p>
+     */
+    static String fields(Class<?> projection) {
+        return FIELDS.computeIfAbsent(projection, c -> {
+            TreeSet<String> names = new TreeSet<>();
+            for (Field field : c.getDeclaredFields()) {
+                if (!Modifier.isStatic(field.getModifiers())) {
+                    names.add(field.getName());
+                }
+            }
+            return String.join(",", names);
+        });
+    }
+
+    /**
+     * <p>Read a JSON array of entities from the specified stream, as the
+     * specified projection, skipping any other fields.</p>
+     */
+    static <P> List<P> read(InputStream stream, Class<P> projection) throws IOException {
+        return MAPPER.readValue(stream,
+                MAPPER.getTypeFactory().constructCollectionType(List.class, projection));
+    }
+
+    // Public Classes --------------------------------------------------------
+
+    /**
+     * <p>Author reduced to its id and name.</p>
+     */
+    public static class AuthorSummary {
+
+        private String firstName;
+        private Long id;
+        private String lastName;
+
+        public String getFirstName() {
+            return firstName;
+        }
+
+        public void setFirstName(String firstName) {
+            this.firstName = firstName;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public String getLastName() {
+            return lastName;
+        }
+
+        public void setLastName(String lastName) {
+            this.lastName = lastName;
+        }
+
+    }
+
+    /**
+     * <p>Book reduced to its id, title, and author.</p>
+     */
+    public static class BookSummary {
+
+        private Long authorId;
+        private Long id;
+        private String title;
+
+        public Long getAuthorId() {
+            return authorId;
+        }
+
+        public void setAuthorId(Long authorId) {
+            this.authorId = authorId;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+
+        public void setTitle(String title) {
+            this.title = title;
+        }
+
+    }
+
+    /**
+     * <p>Series reduced to its id, title, and author.</p>
+     */
+    public static class SeriesSummary {
+
+        private Long authorId;
+        private Long id;
+        private String title;
+
+        public Long getAuthorId() {
+            return authorId;
+        }
+
+        public void setAuthorId(Long authorId) {
+            this.authorId = authorId;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+
+        public void setTitle(String title) {
+            this.title = title;
+        }
+
+    }
+
+}
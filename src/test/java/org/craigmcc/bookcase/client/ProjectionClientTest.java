@@ -0,0 +1,114 @@
+/*
+ * Copyright 2020 craigmcc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.craigmcc.bookcase.client;
+
+import org.craigmcc.bookcase.client.ProjectionClient.AuthorSummary;
+import org.craigmcc.bookcase.client.ProjectionClient.BookSummary;
+import org.craigmcc.bookcase.model.Author;
+import org.craigmcc.bookcase.model.Book;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static java.lang.Boolean.TRUE;
+import static org.craigmcc.bookcase.client.Resource.AUTHORS;
+import static org.craigmcc.bookcase.client.Resource.BOOKS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+
+public class ProjectionClientTest extends AbstractClientTest {
+
+    // Instance Variables ----------------------------------------------------
+
+    private final AuthorClient authorClient = new AuthorClient();
+    private final BookClient bookClient = new BookClient();
+    private final ProjectionClient projectionClient = new ProjectionClient();
+
+    // Lifecycle Methods -----------------------------------------------------
+
+    @Before
+    public void before() {
+        if ((depopulateEnabled == null) || (TRUE == depopulateEnabled)) {
+            depopulate();
+        }
+        if ((populateEnabled == null) || (TRUE == populateEnabled)) {
+            populate();
+        }
+    }
+
+    // Test Methods ----------------------------------------------------------
+
+    // fields() tests
+
+    @Test
+    public void fieldsHappy() throws Exception {
+        assertThat(ProjectionClient.fields(BookSummary.class), is("authorId,id,title"));
+        assertThat(ProjectionClient.fields(AuthorSummary.class), is("firstName,id,lastName"));
+    }
+
+    // findAll() tests
+
+    @Test
+    public void findAllAuthors() throws Exception {
+
+        List<Author> authors = authorClient.findAll();
+        List<AuthorSummary> summaries = projectionClient.findAll(AUTHORS, AuthorSummary.class);
+        assertThat(summaries.size(), is(authors.size()));
+        for (int i = 0; i < authors.size(); i++) {
+            assertThat(summaries.get(i).getId(), is(authors.get(i).getId()));
+            assertThat(summaries.get(i).getFirstName(), is(authors.get(i).getFirstName()));
+            assertThat(summaries.get(i).getLastName(), is(authors.get(i).getLastName()));
+        }
+
+    }
+
+    @Test
+    public void findAllBooks() throws Exception {
+
+        List<Book> books = bookClient.findAll();
+        assertThat(books.size(), is(greaterThan(0)));
+        List<BookSummary> summaries = projectionClient.findAll(BOOKS, BookSummary.class);
+        assertThat(summaries.size(), is(books.size()));
+        for (int i = 0; i < books.size(); i++) {
+            assertThat(summaries.get(i).getId(), is(books.get(i).getId()));
+            assertThat(summaries.get(i).getAuthorId(), is(books.get(i).getAuthorId()));
+            assertThat(summaries.get(i).getTitle(), is(books.get(i).getTitle()));
+        }
+
+    }
+
+    // read() tests
+
+    @Test
+    public void readSkipsFields() throws Exception {
+
+        String json = "[{\"id\":1,\"authorId\":7,\"title\":\"Title\",\"notes\":\"Notes\"," +
+                "\"published\":\"2020-01-01T00:00:00\",\"location\":{\"shelf\":3}}]";
+        List<BookSummary> summaries = ProjectionClient.read(
+                new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)),
+                BookSummary.class);
+        assertThat(summaries.size(), is(1));
+        assertThat(summaries.get(0).getId(), is(1L));
+        assertThat(summaries.get(0).getAuthorId(), is(7L));
+        assertThat(summaries.get(0).getTitle(), is("Title"));
+
+    }
+
+}
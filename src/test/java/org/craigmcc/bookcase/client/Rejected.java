@@ -0,0 +1,30 @@
+/*
+ * Copyright 2020 craigmcc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.craigmcc.bookcase.client;
+
+/**
+ * <p>Thrown when a client call is shed before being sent, because no slot
+ * under a {@link ConcurrencyLimiter} became free in time, or because every
+ * {@link Deadline#call} thread is busy.  The server was never called, so
+ * the call is safe to retry elsewhere or later.</p>
+ */
+public class Rejected extends Exception {
+
+    public Rejected(String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2020 craigmcc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.craigmcc.bookcase.client;
+
+/**
+ * <p>Entity resources of the bookcase server, shared by the clients in this
+ * package that work on any resource, such as {@link CountClient},
+ * {@link ProjectionClient}, and {@link ResultClient}.</p>
+ */
+public enum Resource {
+
+    ANTHOLOGIES("/anthologies", true),
+    AUTHORS("/authors", false),
+    BOOKS("/books", true),
+    MEMBERS("/members", false),
+    SERIES("/series", true),
+    STORIES("/stories", false);
+
+    Resource(String path, boolean authored) {
+        this.authored = authored;
+        this.path = path;
+    }
+
+    private final boolean authored;
+    private final String path;
+
+    /**
+     * <p>Return <code>true</code> if entities of this resource have an
+     * <code>authorId</code>.</p>
+     */
+    public boolean isAuthored() {
+        return authored;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+}
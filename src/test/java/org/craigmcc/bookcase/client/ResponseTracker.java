@@ -0,0 +1,259 @@
+/*
+ * Copyright 2020 craigmcc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.craigmcc.bookcase.client;
+
+import javax.ws.rs.client.ClientRequestContext;
+import javax.ws.rs.client.ClientResponseContext;
+import javax.ws.rs.client.ClientResponseFilter;
+import javax.ws.rs.client.WebTarget;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>Debug aid that tracks every <code>Response</code> with an entity and
+ * reports any not closed (directly, or by reading the entity) within a
+ * threshold, together with the stack where it was received.  With a
+ * pooled connector an unclosed response pins a connection, so leaks found
+ * here would otherwise surface later as pool exhaustion.</p>
+ *
+ * <p>Register an instance on a client or target, or set the
+ * {@link #THRESHOLD_PROPERTY} system property so that the clients in this
+ * package register the {@link #shared()} instance through {@link #track},
+ * for example
+ * <code>mvn test -Dbookcase.responses.threshold.millis=5000</code>.
+ * Then call {@link #check} or {@link #verify} at suitable points to find
+ * responses open for longer than the threshold, or {@link #verifyClosed}
+ * at a point where no response should be open at all, whatever its age;
+ * <code>AbstractClientTest</code> does the latter after every test, so
+ * each test's leaks are blamed on that test.  Each leak is reported once,
+ * and then no longer tracked, so that leaked responses are not kept
+ * reachable from here.</p>
+ */
+public class ResponseTracker implements ClientResponseFilter {
+
+    // Manifest Constants ----------------------------------------------------
+
+    public static final String THRESHOLD_PROPERTY = "bookcase.responses.threshold.millis";
+
+    private static final ResponseTracker SHARED;
+
+    static {
+        String threshold = System.getProperty(THRESHOLD_PROPERTY);
+        SHARED = (threshold == null) ? null : new ResponseTracker(Long.parseLong(threshold));
+    }
+
+    // Constructors ----------------------------------------------------------
+
+    public ResponseTracker(long thresholdMillis) {
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMillis);
+    }
+
+    // Instance Variables ----------------------------------------------------
+
+    private final AtomicLong leaks = new AtomicLong();
+    private final Map<TrackedStream, Leak> open = new ConcurrentHashMap<>();
+    private final long thresholdNanos;
+    private final AtomicLong tracked = new AtomicLong();
+
+    // Static Methods --------------------------------------------------------
+
+    /**
+     * <p>Return the instance enabled by {@link #THRESHOLD_PROPERTY}, or
+     * <code>null</code> if tracking is not enabled.</p>
+     */
+    public static ResponseTracker shared() {
+        return SHARED;
+    }
+
+    /**
+     * <p>Return the specified target with the {@link #shared()} instance
+     * registered, if tracking is enabled, or unchanged if not.  Registering
+     * gives the target its own configuration, and so its own Jersey
+     * runtime, so call this once per client on its base target and derive
+     * request targets from the result with <code>path()</code>.</p>
+     *
+     * @param target Target to be tracked
+     */
+    public static WebTarget track(WebTarget target) {
+        return (SHARED == null) ? target : target.register(SHARED);
+    }
+
+    // Property Methods ------------------------------------------------------
+
+    /**
+     * <p>Return the number of responses found leaked so far.</p>
+     */
+    public long getLeaks() {
+        return leaks.get();
+    }
+
+    /**
+     * <p>Return the number of tracked responses not yet closed.</p>
+     */
+    public int getOpen() {
+        return open.size();
+    }
+
+    /**
+     * <p>Return the number of responses tracked so far.</p>
+     */
+    public long getTracked() {
+        return tracked.get();
+    }
+
+    // Public Methods --------------------------------------------------------
+
+    /**
+     * <p>Return the responses found open for longer than the threshold
+     * since the last check, and stop tracking them.</p>
+     */
+    public List<Leak> check() {
+        return check(thresholdNanos);
+    }
+
+    @Override
+    public void filter(ClientRequestContext request, ClientResponseContext response) {
+        if (response.hasEntity()) {
+            TrackedStream stream = new TrackedStream(response.getEntityStream());
+            open.put(stream, new Leak(request.getMethod(), request.getUri(),
+                    response.getStatus()));
+            tracked.incrementAndGet();
+            response.setEntityStream(stream);
+        }
+    }
+
+    /**
+     * <p>Fail if any response has been found open for longer than the
+     * threshold since the last check.</p>
+     *
+     * @throws AssertionError listing the leaked responses, caused by the
+     *  stack where the first of them was received
+     */
+    public void verify() {
+        verify(check(), "not closed within " +
+                TimeUnit.NANOSECONDS.toMillis(thresholdNanos) + " ms");
+    }
+
+    /**
+     * <p>Fail if any tracked response is still open, however recently it
+     * was received.</p>
+     *
+     * @throws AssertionError listing the open responses, caused by the
+     *  stack where the first of them was received
+     */
+    public void verifyClosed() {
+        verify(check(0), "still open");
+    }
+
+    // Private Methods -------------------------------------------------------
+
+    private List<Leak> check(long minimumNanos) {
+        long now = System.nanoTime();
+        List<Leak> results = new ArrayList<>();
+        for (Map.Entry<TrackedStream, Leak> entry : open.entrySet()) {
+            Leak leak = entry.getValue();
+            if ((now - leak.receivedNanos >= minimumNanos) &&
+                    open.remove(entry.getKey(), leak)) {
+                leaks.incrementAndGet();
+                results.add(leak);
+            }
+        }
+        return results;
+    }
+
+    private static void verify(List<Leak> found, String reason) {
+        if (!found.isEmpty()) {
+            StringBuilder sb = new StringBuilder();
+            sb.append(found.size()).append(" response(s) ").append(reason).append(":");
+            for (Leak leak : found) {
+                sb.append("\n  ").append(leak);
+            }
+            throw new AssertionError(sb.toString(), found.get(0).stack);
+        }
+    }
+
+    // Public Classes --------------------------------------------------------
+
+    /**
+     * <p>A tracked response that has not been closed.</p>
+     */
+    public static class Leak {
+
+        private Leak(String method, URI uri, int status) {
+            this.method = method;
+            this.status = status;
+            this.uri = uri;
+        }
+
+        private final String method;
+        private final long receivedNanos = System.nanoTime();
+        private final Throwable stack = new Throwable("Response received here");
+        private final int status;
+        private final URI uri;
+
+        public String getMethod() {
+            return method;
+        }
+
+        /**
+         * <p>Return a throwable whose stack trace shows where the response
+         * was received.</p>
+         */
+        public Throwable getStack() {
+            return stack;
+        }
+
+        public int getStatus() {
+            return status;
+        }
+
+        public URI getUri() {
+            return uri;
+        }
+
+        @Override
+        public String toString() {
+            return method + " " + uri + " (" + status + ") open for " +
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - receivedNanos) + " ms";
+        }
+
+    }
+
+    // Private Classes -------------------------------------------------------
+
+    private class TrackedStream extends FilterInputStream {
+
+        TrackedStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public void close() throws IOException {
+            open.remove(this);
+            super.close();
+        }
+
+    }
+
+}
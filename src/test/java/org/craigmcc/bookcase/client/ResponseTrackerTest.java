@@ -0,0 +1,176 @@
+/*
+ * Copyright 2020 craigmcc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.craigmcc.bookcase.client;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.ClientBuilder;
+import javax.ws.rs.client.WebTarget;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.Assert.assertThrows;
+
+public class ResponseTrackerTest {
+
+    // Instance Variables ----------------------------------------------------
+
+    private Client client;
+    private HttpServer server;
+
+    // Lifecycle Methods -----------------------------------------------------
+
+    @Before
+    public void before() throws Exception {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/text", exchange -> {
+            byte[] response = "Text".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", MediaType.TEXT_PLAIN);
+            exchange.sendResponseHeaders(200, response.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(response);
+            }
+        });
+        server.start();
+        client = ClientBuilder.newClient();
+    }
+
+    @After
+    public void after() throws Exception {
+        client.close();
+        server.stop(0);
+    }
+
+    // Test Methods ----------------------------------------------------------
+
+    // check() tests
+
+    @Test
+    public void checkClosed() throws Exception {
+
+        ResponseTracker tracker = new ResponseTracker(0);
+        WebTarget target = target(tracker);
+
+        // Closed explicitly
+        target.request(MediaType.TEXT_PLAIN).get().close();
+
+        // Closed by reading the entity
+        Response response = target.request(MediaType.TEXT_PLAIN).get();
+        assertThat(response.readEntity(String.class), is("Text"));
+
+        assertThat(tracker.getTracked(), is(2L));
+        assertThat(tracker.getOpen(), is(0));
+        assertThat(tracker.check().size(), is(0));
+        tracker.verify();
+
+    }
+
+    @Test
+    public void checkLeaked() throws Exception {
+
+        ResponseTracker tracker = new ResponseTracker(0);
+        Response response = target(tracker).request(MediaType.TEXT_PLAIN).get();
+        assertThat(response.getStatus(), is(200));
+
+        List<ResponseTracker.Leak> leaks = tracker.check();
+        assertThat(leaks.size(), is(1));
+        assertThat(leaks.get(0).getMethod(), is("GET"));
+        assertThat(leaks.get(0).getUri().getPath(), is("/text"));
+        assertThat(leaks.get(0).getStack(), is(notNullValue()));
+        assertThat(tracker.getLeaks(), is(1L));
+
+        // A leak is only reported once, and is then no longer tracked
+        assertThat(tracker.getOpen(), is(0));
+        assertThat(tracker.check().size(), is(0));
+        assertThat(tracker.getLeaks(), is(1L));
+        response.close();
+
+    }
+
+    @Test
+    public void checkThreshold() throws Exception {
+
+        ResponseTracker tracker = new ResponseTracker(60_000);
+        Response response = target(tracker).request(MediaType.TEXT_PLAIN).get();
+        assertThat(tracker.getOpen(), is(1));
+        assertThat(tracker.check().size(), is(0));
+        response.close();
+
+    }
+
+    // verify() tests
+
+    @Test
+    public void verifyLeaked() throws Exception {
+
+        ResponseTracker tracker = new ResponseTracker(0);
+        Response response = target(tracker).request(MediaType.TEXT_PLAIN).get();
+        AssertionError e = assertThrows(AssertionError.class, tracker::verify);
+        assertThat(e.getMessage(), containsString("GET"));
+        assertThat(e.getCause(), is(notNullValue()));
+        tracker.verify();
+        response.close();
+
+    }
+
+    // verifyClosed() tests
+
+    @Test
+    public void verifyClosedFresh() throws Exception {
+
+        // Open for less than the threshold, but still open
+        ResponseTracker tracker = new ResponseTracker(60_000);
+        Response response = target(tracker).request(MediaType.TEXT_PLAIN).get();
+        tracker.verify();
+        AssertionError e = assertThrows(AssertionError.class, tracker::verifyClosed);
+        assertThat(e.getMessage(), containsString("still open"));
+        assertThat(tracker.getOpen(), is(0));
+        tracker.verifyClosed();
+        response.close();
+
+    }
+
+    @Test
+    public void verifyClosedHappy() throws Exception {
+
+        ResponseTracker tracker = new ResponseTracker(60_000);
+        target(tracker).request(MediaType.TEXT_PLAIN).get().close();
+        tracker.verifyClosed();
+
+    }
+
+    // Private Methods -------------------------------------------------------
+
+    private WebTarget target(ResponseTracker tracker) {
+        return client.target("http://localhost:" + server.getAddress().getPort())
+                .path("/text")
+                .register(tracker);
+    }
+
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2020 craigmcc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.craigmcc.bookcase.client;
+
+/**
+ * <p>Outcome of a client call that reports failure as a value rather than
+ * by throwing, for hot paths where misses are common and exception
+ * construction would dominate.  A result carries the HTTP status, plus
+ * either the entity (on success) or the error message from the server.</p>
+ *
+ * @param <T> Type of the entity on success
+ */
+public class Result<T> {
+
+    // Constructors ----------------------------------------------------------
+
+    private Result(int status, T entity, String message) {
+        this.entity = entity;
+        this.message = message;
+        this.status = status;
+    }
+
+    // Instance Variables ----------------------------------------------------
+
+    private final T entity;
+    private final String message;
+    private final int status;
+
+    // Static Methods --------------------------------------------------------
+
+    public static <T> Result<T> error(int status, String message) {
+        return new Result<>(status, null, message);
+    }
+
+    public static <T> Result<T> ok(int status, T entity) {
+        return new Result<>(status, entity, null);
+    }
+
+    // Property Methods ------------------------------------------------------
+
+    /**
+     * <p>Return the entity, or <code>null</code> if the call failed.</p>
+     */
+    public T getEntity() {
+        return entity;
+    }
+
+    /**
+     * <p>Return the error message from the server, or <code>null</code> if
+     * the call succeeded.</p>
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public boolean isNotFound() {
+        return status == 404;
+    }
+
+    public boolean isOk() {
+        return (status >= 200) && (status < 300);
+    }
+
+    // Public Methods --------------------------------------------------------
+
+    /**
+     * <p>Return the entity if the call succeeded, or the specified value
+     * if it did not.</p>
+     *
+     * @param other Value to return on failure
+     */
+    public T orElse(T other) {
+        return isOk() ? entity : other;
+    }
+
+    @Override
+    public String toString() {
+        return isOk() ? "Result[" + status + ", " + entity + "]" :
+                "Result[" + status + ", " + message + "]";
+    }
+
+}
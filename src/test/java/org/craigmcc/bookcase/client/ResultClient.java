@@ -0,0 +1,127 @@
+/*
+ * Copyright 2020 craigmcc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.craigmcc.bookcase.client;
+
+import org.craigmcc.library.shared.exception.BadRequest;
+
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.client.WebTarget;
+import javax.ws.rs.core.GenericType;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import java.util.List;
+
+/**
+ * <p>Non-throwing counterparts of the entity client lookups, such as
+ * {@link #tryFind} for <code>find(id)</code>.  Every response, successful
+ * or not, is returned as a {@link Result} carrying its status, so a miss
+ * costs no exception construction.  Only transport failures (the server
+ * could not be reached at all) still throw.</p>
+ *
+ * <p>{@link #tryInsert}, the counterpart of <code>insert()</code>, also
+ * sends an idempotency key, so it is the call to retry through
+ * {@link IdempotentInsert}.  It checks the entity with {@link Validator}
+ * first, so a missing required field is a 400 result without a
+ * request.</p>
+ */
+public class ResultClient extends AbstractClient {
+
+    // Instance Variables ----------------------------------------------------
+
+    // Base target with the shared ResponseTracker (if enabled) registered
+    // once, so that derived targets share one Jersey runtime
+    private final WebTarget trackedTarget = ResponseTracker.track(getBaseTarget());
+
+    // Public Methods --------------------------------------------------------
+
+    /**
+     * <p>Look up the entity of the specified resource with the specified
+     * ID.</p>
+     *
+     * @param resource Resource containing the entity
+     * @param id ID of the entity
+     * @param type Model class of the entity, such as <code>Author.class</code>
+     */
+    public <M> Result<M> tryFind(Resource resource, Long id, Class<M> type) {
+        return get(trackedTarget
+                .path(resource.getPath())
+                .path("/" + id), new GenericType<M>(type));
+    }
+
+    /**
+     * <p>List every entity of the specified resource.</p>
+     *
+     * @param resource Resource to be listed
+     * @param type Generic list type of the result, such as
+     *             <code>new GenericType&lt;List&lt;Author&gt;&gt;() {}</code>
+     */
+    public <M> Result<List<M>> tryFindAll(Resource resource, GenericType<List<M>> type) {
+        return get(trackedTarget.path(resource.getPath()), type);
+    }
+
+    /**
+     * <p>Insert the specified entity into the specified resource, sending
+     * the specified idempotency key with the request.  An entity missing a
+     * field required by {@link Validator} returns a 400 result without
+     * being sent.</p>
+     *
+     * @param resource Resource to contain the entity
+     * @param model Entity to be inserted
+     * @param key Idempotency key of this insert, the same for every attempt
+     */
+    public <M> Result<M> tryInsert(Resource resource, M model, String key) {
+
+        try {
+            Validator.validate(model);
+        } catch (BadRequest e) {
+            return Result.error(Response.Status.BAD_REQUEST.getStatusCode(), e.getMessage());
+        }
+
+        Response response = trackedTarget
+                .path(resource.getPath())
+                .request(MediaType.APPLICATION_JSON)
+                .header(IdempotentInsert.HEADER, key)
+                .post(Entity.entity(model, MediaType.APPLICATION_JSON));
+        return result(response, new GenericType<M>(model.getClass()));
+
+    }
+
+    // Private Methods -------------------------------------------------------
+
+    private <T> Result<T> get(WebTarget target, GenericType<T> type) {
+
+        Response response = target
+                .request(MediaType.APPLICATION_JSON)
+                .get();
+        return result(response, type);
+
+    }
+
+    private <T> Result<T> result(Response response, GenericType<T> type) {
+
+        try {
+            if (response.getStatusInfo().getFamily() == Response.Status.Family.SUCCESSFUL) {
+                return Result.ok(response.getStatus(), response.readEntity(type));
+            }
+            return Result.error(response.getStatus(),
+                    response.hasEntity() ? response.readEntity(String.class) : null);
+        } finally {
+            response.close();
+        }
+
+    }
+
+}
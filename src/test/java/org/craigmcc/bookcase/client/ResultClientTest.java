@@ -0,0 +1,135 @@
+/*
+ * Copyright 2020 craigmcc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.craigmcc.bookcase.client;
+
+import org.craigmcc.bookcase.model.Author;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.ws.rs.core.GenericType;
+import java.util.List;
+import java.util.UUID;
+
+import static java.lang.Boolean.TRUE;
+import static org.craigmcc.bookcase.client.Resource.AUTHORS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+
+public class ResultClientTest extends AbstractClientTest {
+
+    // Instance Variables ----------------------------------------------------
+
+    private final AuthorClient authorClient = new AuthorClient();
+    private final ResultClient resultClient = new ResultClient();
+
+    // Lifecycle Methods -----------------------------------------------------
+
+    @Before
+    public void before() {
+        if ((depopulateEnabled == null) || (TRUE == depopulateEnabled)) {
+            depopulate();
+        }
+        if ((populateEnabled == null) || (TRUE == populateEnabled)) {
+            populate();
+        }
+    }
+
+    // Test Methods ----------------------------------------------------------
+
+    // orElse() tests
+
+    @Test
+    public void orElseHappy() throws Exception {
+        assertThat(Result.ok(200, "found").orElse("other"), is("found"));
+        assertThat(Result.<String>error(404, "Missing").orElse("other"), is("other"));
+    }
+
+    // tryFind() tests
+
+    @Test
+    public void tryFindHappy() throws Exception {
+
+        List<Author> authors = authorClient.findAll();
+        assertThat(authors.size(), is(greaterThan(0)));
+        for (Author author : authors) {
+            Result<Author> result = resultClient.tryFind(AUTHORS, author.getId(), Author.class);
+            assertThat(result.isOk(), is(true));
+            assertThat(result.getStatus(), is(200));
+            assertThat(result.getEntity().equals(author), is(true));
+            assertThat(result.getMessage(), is(nullValue()));
+        }
+
+    }
+
+    @Test
+    public void tryFindNotFound() throws Exception {
+
+        Result<Author> result = resultClient.tryFind(AUTHORS, Long.MAX_VALUE, Author.class);
+        assertThat(result.isOk(), is(false));
+        assertThat(result.isNotFound(), is(true));
+        assertThat(result.getEntity(), is(nullValue()));
+
+    }
+
+    // tryFindAll() tests
+
+    @Test
+    public void tryFindAllHappy() throws Exception {
+
+        List<Author> authors = authorClient.findAll();
+        assertThat(authors.size(), is(greaterThan(0)));
+        Result<List<Author>> result =
+                resultClient.tryFindAll(AUTHORS, new GenericType<List<Author>>() {});
+        assertThat(result.isOk(), is(true));
+        assertThat(result.getEntity().size(), is(authors.size()));
+
+    }
+
+    // tryInsert() tests
+
+    @Test
+    public void tryInsertHappy() throws Exception {
+
+        if (disabled()) {
+            return;
+        }
+
+        Author author = new Author("Inserted", "Author", null);
+        Result<Author> result = resultClient.tryInsert(AUTHORS, author, UUID.randomUUID().toString());
+        assertThat(result.isOk(), is(true));
+        assertThat(result.getEntity().getId(), is(notNullValue()));
+        assertThat(result.getEntity().getLastName(), is("Author"));
+
+    }
+
+    @Test
+    public void tryInsertInvalid() throws Exception {
+
+        // Rejected by Validator, so no request (and no server) is needed
+        Author author = new Author("Invalid", null, null);
+        Result<Author> result = resultClient.tryInsert(AUTHORS, author, UUID.randomUUID().toString());
+        assertThat(result.isOk(), is(false));
+        assertThat(result.getStatus(), is(400));
+        assertThat(result.getMessage(), containsString("lastName"));
+        assertThat(result.getEntity(), is(nullValue()));
+
+    }
+
+}
@@ -26,6 +26,7 @@ import java.util.List;
 
 import static java.lang.Boolean.TRUE;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.notNullValue;
@@ -106,10 +107,8 @@ public class SeriesClientTest extends AbstractClientTest {
     @Test
     public void findHappy() throws Exception {
         List<Series> serieses = seriesClient.findAll();
-        for (Series series : serieses) {
-            Series found = seriesClient.find(series.getId());
-            assertThat(found.equals(series), is(true));
-        }
+        assertThat(new ConsistencyVerifier(8).verify(serieses, Series::getId, seriesClient::find),
+                is(empty()));
     }
 
     @Test
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2020 craigmcc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.craigmcc.bookcase.client;
+
+import org.craigmcc.bookcase.model.Author;
+import org.craigmcc.bookcase.model.Book;
+import org.craigmcc.bookcase.model.Member;
+import org.craigmcc.bookcase.model.Series;
+import org.craigmcc.library.shared.exception.NotFound;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static java.lang.Boolean.TRUE;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThrows;
+
+/**
+ * <p>Long running soak test that cycles CRUD operations through the entity
+ * clients while a {@link SoakMonitor} watches heap, open file, and thread
+ * counts for steady growth.  It only runs when the
+ * <code>bookcase.soak.minutes</code> system property is set, for example
+ * <code>mvn test -Dtest=SoakClientTest -Dbookcase.soak.minutes=240</code>.</p>
+ */
+public class SoakClientTest extends AbstractClientTest {
+
+    // Manifest Constants ----------------------------------------------------
+
+    public static final String MINUTES_PROPERTY = "bookcase.soak.minutes";
+    public static final String SAMPLE_PROPERTY = "bookcase.soak.sample.seconds";
+    public static final String TOLERANCE_PROPERTY = "bookcase.soak.tolerance";
+
+    // Instance Variables ----------------------------------------------------
+
+    private final AuthorClient authorClient = new AuthorClient();
+    private final BookClient bookClient = new BookClient();
+    private final MemberClient memberClient = new MemberClient();
+    private final SeriesClient seriesClient = new SeriesClient();
+
+    // Lifecycle Methods -----------------------------------------------------
+
+    @Before
+    public void before() {
+        if ((depopulateEnabled == null) || (TRUE == depopulateEnabled)) {
+            depopulate();
+        }
+        if ((populateEnabled == null) || (TRUE == populateEnabled)) {
+            populate();
+        }
+    }
+
+    // Test Methods ----------------------------------------------------------
+
+    @Test
+    public void soak() throws Exception {
+
+        if (disabled() || (System.getProperty(MINUTES_PROPERTY) == null)) {
+            return;
+        }
+
+        long minutes = Long.parseLong(System.getProperty(MINUTES_PROPERTY));
+        long sampleNanos = TimeUnit.SECONDS.toNanos(
+                Long.parseLong(System.getProperty(SAMPLE_PROPERTY, "60")));
+        SoakMonitor monitor = new SoakMonitor(
+                Double.parseDouble(System.getProperty(TOLERANCE_PROPERTY, "0.10")));
+
+        long end = System.nanoTime() + TimeUnit.MINUTES.toNanos(minutes);
+        long nextSample = System.nanoTime();
+        for (int cycle = 0; System.nanoTime() < end; cycle++) {
+            if (System.nanoTime() >= nextSample) {
+                monitor.sample();
+                nextSample += sampleNanos;
+            }
+            cycle(cycle);
+        }
+        monitor.sample();
+        monitor.verify();
+
+    }
+
+    // Private Methods -------------------------------------------------------
+
+    private void cycle(int cycle) throws Exception {
+
+        // Insert an author with one book in one series
+        Author author = authorClient.insert(new Author(
+                "Soak", "Author " + cycle, "Notes about Soak Author " + cycle));
+        Book book = bookClient.insert(new Book(author.getId(), Book.Location.OTHER,
+                "Notes about Soak Book " + cycle, false, "Soak Book " + cycle));
+        Series series = seriesClient.insert(new Series(author.getId(),
+                "Notes about Soak Series " + cycle, "Soak Series " + cycle));
+        Member member = memberClient.insert(new Member(book.getId(), 1, series.getId()));
+
+        // Read and update them
+        assertThat(authorClient.find(author.getId()).equals(author), is(true));
+        assertThat(memberClient.findBySeriesId(series.getId()).size(), is(1));
+        book.setTitle(book.getTitle() + " Updated");
+        bookClient.update(book.getId(), book);
+        memberClient.find(member.getId());
+
+        // Delete the author, which should cascade to everything else
+        authorClient.delete(author.getId());
+        assertThrows(NotFound.class,
+                () -> bookClient.find(book.getId()));
+
+    }
+
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2020 craigmcc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.craigmcc.bookcase.client;
+
+import com.sun.management.UnixOperatingSystemMXBean;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>Periodic sampler of JVM resource usage during a soak run, which flags
+ * metrics that keep growing.  A metric is considered to be growing when
+ * the minimum value in each quarter of the run is higher than in the
+ * quarter before it, and the last quarter's minimum exceeds the first
+ * quarter's minimum by more than the configured tolerance.  Using minima
+ * (and sampling heap after a GC) filters out ordinary allocation noise.</p>
+ */
+public class SoakMonitor {
+
+    // Manifest Constants ----------------------------------------------------
+
+    /**
+     * <p>Resource metrics sampled by {@link #sample()}.</p>
+     */
+    public enum Metric {
+        HEAP_BYTES,
+        OPEN_FILES,
+        THREADS
+    }
+
+    // Minimum number of samples before growth is evaluated
+    private static final int MIN_SAMPLES = 8;
+
+    // Constructors ----------------------------------------------------------
+
+    /**
+     * @param tolerance Fractional growth (such as 0.10 for 10%) allowed
+     *                  between the first and last quarters of the run
+     */
+    public SoakMonitor(double tolerance) {
+        this.tolerance = tolerance;
+        for (Metric metric : Metric.values()) {
+            samples.put(metric, new ArrayList<>());
+        }
+    }
+
+    // Instance Variables ----------------------------------------------------
+
+    private final Map<Metric, List<Long>> samples = new EnumMap<>(Metric.class);
+    private final double tolerance;
+
+    // Public Methods --------------------------------------------------------
+
+    /**
+     * <p>Return the metrics that are growing, based on the samples
+     * recorded so far.</p>
+     */
+    public List<Metric> growing() {
+        List<Metric> results = new ArrayList<>();
+        for (Metric metric : Metric.values()) {
+            if (growing(samples.get(metric))) {
+                results.add(metric);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * <p>Record the current heap usage (after requesting a GC), open file
+     * descriptor count (on Unix platforms only), and live thread count.</p>
+     */
+    public void sample() {
+        System.gc();
+        record(Metric.HEAP_BYTES,
+                ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed());
+        OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+        if (os instanceof UnixOperatingSystemMXBean) {
+            record(Metric.OPEN_FILES,
+                    ((UnixOperatingSystemMXBean) os).getOpenFileDescriptorCount());
+        }
+        record(Metric.THREADS,
+                ManagementFactory.getThreadMXBean().getThreadCount());
+    }
+
+    /**
+     * <p>Throw an {@link AssertionError} listing the samples of every
+     * metric that is growing.</p>
+     */
+    public void verify() {
+        List<Metric> growing = growing();
+        if (!growing.isEmpty()) {
+            StringBuilder sb = new StringBuilder("Resource growth detected");
+            for (Metric metric : growing) {
+                sb.append(System.lineSeparator())
+                        .append("  ").append(metric).append(": ")
+                        .append(samples.get(metric));
+            }
+            throw new AssertionError(sb.toString());
+        }
+    }
+
+    // Package Methods -------------------------------------------------------
+
+    void record(Metric metric, long value) {
+        samples.get(metric).add(value);
+    }
+
+    // Private Methods -------------------------------------------------------
+
+    private boolean growing(List<Long> values) {
+        if (values.size() < MIN_SAMPLES) {
+            return false;
+        }
+        int quarter = values.size() / 4;
+        long[] minima = new long[4];
+        for (int i = 0; i < 4; i++) {
+            int end = (i == 3) ? values.size() : (i + 1) * quarter;
+            long min = Long.MAX_VALUE;
+            for (int j = i * quarter; j < end; j++) {
+                min = Math.min(min, values.get(j));
+            }
+            minima[i] = min;
+            if ((i > 0) && (minima[i] <= minima[i - 1])) {
+                return false;
+            }
+        }
+        return minima[3] > minima[0] * (1.0 + tolerance);
+    }
+
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2020 craigmcc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.craigmcc.bookcase.client;
+
+import org.craigmcc.bookcase.client.SoakMonitor.Metric;
+import org.junit.Test;
+
+import java.util.Collections;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThrows;
+
+public class SoakMonitorTest {
+
+    // Test Methods ----------------------------------------------------------
+
+    // growing() tests
+
+    @Test
+    public void growingHappy() throws Exception {
+
+        SoakMonitor monitor = new SoakMonitor(0.10);
+        for (int i = 0; i < 40; i++) {
+            monitor.record(Metric.THREADS, 100 + (i * 5) + ((i % 2) * 20));
+        }
+        assertThat(monitor.growing(), is(Collections.singletonList(Metric.THREADS)));
+        assertThrows(AssertionError.class, monitor::verify);
+
+    }
+
+    @Test
+    public void growingNoisy() throws Exception {
+
+        SoakMonitor monitor = new SoakMonitor(0.10);
+        for (int i = 0; i < 40; i++) {
+            monitor.record(Metric.HEAP_BYTES, 1000 + ((i % 5) * 300));
+        }
+        assertThat(monitor.growing().size(), is(0));
+        monitor.verify();
+
+    }
+
+    @Test
+    public void growingTooFewSamples() throws Exception {
+
+        SoakMonitor monitor = new SoakMonitor(0.10);
+        for (int i = 0; i < 4; i++) {
+            monitor.record(Metric.OPEN_FILES, 100 * (i + 1));
+        }
+        assertThat(monitor.growing().size(), is(0));
+
+    }
+
+    @Test
+    public void growingWithinTolerance() throws Exception {
+
+        SoakMonitor monitor = new SoakMonitor(0.10);
+        for (int i = 0; i < 40; i++) {
+            monitor.record(Metric.OPEN_FILES, 100 + (i / 10));
+        }
+        assertThat(monitor.growing().size(), is(0));
+
+    }
+
+}
@@ -27,6 +27,7 @@ import java.util.List;
 
 import static java.lang.Boolean.TRUE;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.notNullValue;
@@ -97,10 +98,8 @@ public class StoryClientTest extends AbstractClientTest {
     @Test
     public void findHappy() throws Exception {
         List<Story> stories = storyClient.findAll();
-        for (Story story : stories) {
-            Story found = storyClient.find(story.getId());
-            assertThat(found.equals(story), is(true));
-        }
+        assertThat(new ConsistencyVerifier(8).verify(stories, Story::getId, storyClient::find),
+                is(empty()));
     }
 
     @Test
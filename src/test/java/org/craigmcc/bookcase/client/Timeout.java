@@ -0,0 +1,32 @@
+/*
+ * Copyright 2020 craigmcc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.craigmcc.bookcase.client;
+
+/**
+ * <p>Thrown when a client call does not complete before its {@link Deadline}
+ * (or connect/read timeout) expires.</p>
+ */
+public class Timeout extends Exception {
+
+    public Timeout(String message) {
+        super(message);
+    }
+
+    public Timeout(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+}
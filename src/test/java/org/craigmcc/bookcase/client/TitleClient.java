@@ -0,0 +1,109 @@
+/*
+ * Copyright 2020 craigmcc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.craigmcc.bookcase.client;
+
+import org.craigmcc.bookcase.client.TitleIndex.Match;
+import org.craigmcc.bookcase.model.Anthology;
+import org.craigmcc.bookcase.model.Book;
+import org.craigmcc.bookcase.model.Series;
+import org.craigmcc.library.shared.exception.InternalServerError;
+
+import java.util.List;
+
+/**
+ * <p>Title search for anthologies, books, and series, which the entity
+ * clients do not offer.  The server has no title index, so each entity
+ * type is loaded with one <code>findAll()</code> call the first time it is
+ * searched, and kept in a {@link TitleIndex} that serves every later
+ * search without another call.  Call {@link #refresh} to see changes made
+ * since the indexes were loaded.</p>
+ */
+public class TitleClient {
+
+    // Instance Variables ----------------------------------------------------
+
+    private final AnthologyClient anthologyClient = new AnthologyClient();
+    private final BookClient bookClient = new BookClient();
+    private final SeriesClient seriesClient = new SeriesClient();
+
+    private TitleIndex<Anthology> anthologies = null;
+    private TitleIndex<Book> books = null;
+    private TitleIndex<Series> series = null;
+
+    // Public Methods --------------------------------------------------------
+
+    /**
+     * <p>Return anthologies whose title matches the specified text, in the
+     * order returned by <code>findAll()</code>.</p>
+     *
+     * @param title Text to be matched (case insensitive)
+     * @param match Kind of match to perform
+     *
+     * @throws InternalServerError if the anthologies could not be loaded
+     */
+    public synchronized List<Anthology> findAnthologiesByTitle(String title, Match match)
+            throws InternalServerError {
+        if (anthologies == null) {
+            anthologies = new TitleIndex<>(anthologyClient.findAll(), Anthology::getTitle);
+        }
+        return anthologies.findByTitle(title, match);
+    }
+
+    /**
+     * <p>Return books whose title matches the specified text, in the order
+     * returned by <code>findAll()</code>.</p>
+     *
+     * @param title Text to be matched (case insensitive)
+     * @param match Kind of match to perform
+     *
+     * @throws InternalServerError if the books could not be loaded
+     */
+    public synchronized List<Book> findBooksByTitle(String title, Match match)
+            throws InternalServerError {
+        if (books == null) {
+            books = new TitleIndex<>(bookClient.findAll(), Book::getTitle);
+        }
+        return books.findByTitle(title, match);
+    }
+
+    /**
+     * <p>Return series whose title matches the specified text, in the order
+     * returned by <code>findAll()</code>.</p>
+     *
+     * @param title Text to be matched (case insensitive)
+     * @param match Kind of match to perform
+     *
+     * @throws InternalServerError if the series could not be loaded
+     */
+    public synchronized List<Series> findSeriesByTitle(String title, Match match)
+            throws InternalServerError {
+        if (series == null) {
+            series = new TitleIndex<>(seriesClient.findAll(), Series::getTitle);
+        }
+        return series.findByTitle(title, match);
+    }
+
+    /**
+     * <p>Discard the loaded indexes, so that the next search of each entity
+     * type loads it again.</p>
+     */
+    public synchronized void refresh() {
+        anthologies = null;
+        books = null;
+        series = null;
+    }
+
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2020 craigmcc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.craigmcc.bookcase.client;
+
+import org.craigmcc.bookcase.client.TitleIndex.Match;
+import org.craigmcc.bookcase.model.Anthology;
+import org.craigmcc.bookcase.model.Book;
+import org.craigmcc.bookcase.model.Series;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Locale;
+
+import static java.lang.Boolean.TRUE;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+
+public class TitleClientTest extends AbstractClientTest {
+
+    // Instance Variables ----------------------------------------------------
+
+    private final AnthologyClient anthologyClient = new AnthologyClient();
+    private final BookClient bookClient = new BookClient();
+    private final SeriesClient seriesClient = new SeriesClient();
+    private final TitleClient titleClient = new TitleClient();
+
+    // Lifecycle Methods -----------------------------------------------------
+
+    @Before
+    public void before() {
+        if ((depopulateEnabled == null) || (TRUE == depopulateEnabled)) {
+            depopulate();
+        }
+        if ((populateEnabled == null) || (TRUE == populateEnabled)) {
+            populate();
+        }
+    }
+
+    // Test Methods ----------------------------------------------------------
+
+    // findAnthologiesByTitle() tests
+
+    @Test
+    public void findAnthologiesByTitleHappy() throws Exception {
+
+        List<Anthology> anthologies = anthologyClient.findAll();
+        assertThat(anthologies.size(), is(greaterThan(0)));
+
+        String title = anthologies.get(0).getTitle();
+        String prefix = title.substring(0, 1);
+        List<Anthology> prefixes = titleClient.findAnthologiesByTitle(prefix, Match.PREFIX);
+        assertThat(prefixes.contains(anthologies.get(0)), is(true));
+        for (Anthology anthology : prefixes) {
+            assertThat(lower(anthology.getTitle()).startsWith(lower(prefix)), is(true));
+        }
+        assertThat(titleClient.findAnthologiesByTitle(title.toUpperCase(Locale.ROOT),
+                Match.SUBSTRING).contains(anthologies.get(0)), is(true));
+
+    }
+
+    // findBooksByTitle() tests
+
+    @Test
+    public void findBooksByTitleHappy() throws Exception {
+
+        List<Book> books = bookClient.findAll();
+        assertThat(books.size(), is(greaterThan(0)));
+
+        int expected = 0;
+        for (Book book : books) {
+            if (lower(book.getTitle()).contains(" by ")) {
+                expected++;
+            }
+        }
+        List<Book> matches = titleClient.findBooksByTitle(" by ", Match.SUBSTRING);
+        assertThat(matches.size(), is(expected));
+        for (Book book : matches) {
+            assertThat(lower(book.getTitle()).contains(" by "), is(true));
+        }
+
+    }
+
+    @Test
+    public void findBooksByTitleNotFound() throws Exception {
+        assertThat(titleClient.findBooksByTitle("No Such Title Anywhere", Match.SUBSTRING).size(),
+                is(0));
+    }
+
+    // findSeriesByTitle() tests
+
+    @Test
+    public void findSeriesByTitleHappy() throws Exception {
+
+        List<Series> serieses = seriesClient.findAll();
+        assertThat(serieses.size(), is(greaterThan(0)));
+
+        for (Series series : serieses) {
+            assertThat(titleClient.findSeriesByTitle(series.getTitle(), Match.PREFIX)
+                    .contains(series), is(true));
+        }
+
+    }
+
+    // Private Methods -------------------------------------------------------
+
+    private static String lower(String title) {
+        return (title == null) ? "" : title.toLowerCase(Locale.ROOT);
+    }
+
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2020 craigmcc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.craigmcc.bookcase.client;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * <p>Case insensitive title index over a list of entities (such as the
+ * results of <code>BookClient.findAll()</code>), supporting prefix and
+ * substring matches.  Substring matches are served from a trigram inverted
+ * index, and prefix matches from a sorted array, so the cost of a lookup
+ * depends on the number of candidates rather than on the number of
+ * entities.  Results are returned in the order of the original list.</p>
+ *
+ * @param <E> Entity type being indexed
+ */
+public class TitleIndex<E> {
+
+    // Manifest Constants ----------------------------------------------------
+
+    /**
+     * <p>Kinds of title match supported by {@link #findByTitle}.</p>
+     */
+    public enum Match {
+        PREFIX,
+        SUBSTRING
+    }
+
+    private static final int GRAM = 3;
+
+    // Constructors ----------------------------------------------------------
+
+    public TitleIndex(List<E> entities, Function<E, String> title) {
+        this.entities = new ArrayList<>(entities);
+        this.titles = new String[this.entities.size()];
+        for (int i = 0; i < titles.length; i++) {
+            String value = title.apply(this.entities.get(i));
+            titles[i] = (value == null) ? "" : value.toLowerCase(Locale.ROOT);
+            for (int j = 0; j + GRAM <= titles[i].length(); j++) {
+                List<Integer> postings = grams.computeIfAbsent(
+                        titles[i].substring(j, j + GRAM), k -> new ArrayList<>());
+                if (postings.isEmpty() || (postings.get(postings.size() - 1) != i)) {
+                    postings.add(i);
+                }
+            }
+        }
+        this.sorted = new Integer[titles.length];
+        for (int i = 0; i < sorted.length; i++) {
+            sorted[i] = i;
+        }
+        Arrays.sort(sorted, (a, b) -> titles[a].compareTo(titles[b]));
+    }
+
+    // Instance Variables ----------------------------------------------------
+
+    private final List<E> entities;
+    private final Map<String, List<Integer>> grams = new HashMap<>();
+    private final Integer[] sorted;
+    private final String[] titles;
+
+    // Public Methods --------------------------------------------------------
+
+    /**
+     * <p>Return entities whose title contains the specified text.</p>
+     *
+     * @param title Text to be matched (case insensitive)
+     */
+    public List<E> findByTitle(String title) {
+        return findByTitle(title, Match.SUBSTRING);
+    }
+
+    /**
+     * <p>Return entities whose title matches the specified text.</p>
+     *
+     * @param title Text to be matched (case insensitive)
+     * @param match Kind of match to perform
+     */
+    public List<E> findByTitle(String title, Match match) {
+        String query = title.toLowerCase(Locale.ROOT);
+        List<Integer> matches = (match == Match.PREFIX) ?
+                findPrefix(query) : findSubstring(query);
+        Collections.sort(matches);
+        List<E> results = new ArrayList<>(matches.size());
+        for (Integer index : matches) {
+            results.add(entities.get(index));
+        }
+        return results;
+    }
+
+    public int size() {
+        return entities.size();
+    }
+
+    // Private Methods -------------------------------------------------------
+
+    private List<Integer> findPrefix(String query) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (titles[sorted[mid]].compareTo(query) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        List<Integer> matches = new ArrayList<>();
+        for (int i = low; (i < sorted.length) && titles[sorted[i]].startsWith(query); i++) {
+            matches.add(sorted[i]);
+        }
+        return matches;
+    }
+
+    private List<Integer> findSubstring(String query) {
+
+        // Queries shorter than a trigram cannot use the index
+        if (query.length() < GRAM) {
+            List<Integer> matches = new ArrayList<>();
+            for (int i = 0; i < titles.length; i++) {
+                if (titles[i].contains(query)) {
+                    matches.add(i);
+                }
+            }
+            return matches;
+        }
+
+        // Verify candidates from the rarest trigram in the query
+        List<Integer> candidates = null;
+        for (int j = 0; j + GRAM <= query.length(); j++) {
+            List<Integer> postings = grams.get(query.substring(j, j + GRAM));
+            if (postings == null) {
+                return new ArrayList<>();
+            }
+            if ((candidates == null) || (postings.size() < candidates.size())) {
+                candidates = postings;
+            }
+        }
+        List<Integer> matches = new ArrayList<>();
+        for (Integer candidate : candidates) {
+            if (titles[candidate].contains(query)) {
+                matches.add(candidate);
+            }
+        }
+        return matches;
+
+    }
+
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2020 craigmcc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.craigmcc.bookcase.client;
+
+import org.craigmcc.bookcase.client.TitleIndex.Match;
+import org.craigmcc.bookcase.model.Book;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class TitleIndexTest {
+
+    // Instance Variables ----------------------------------------------------
+
+    private final TitleIndex<Book> index =
+            new TitleIndex<>(newBooks(), Book::getTitle);
+
+    // Test Methods ----------------------------------------------------------
+
+    // findByTitle() tests
+
+    @Test
+    public void findByTitlePrefix() throws Exception {
+
+        List<Book> books = index.findByTitle("the", Match.PREFIX);
+        assertThat(books.size(), is(2));
+        assertThat(books.get(0).getTitle(), is("The Rock Quarry"));
+        assertThat(books.get(1).getTitle(), is("The Stone Age"));
+
+        assertThat(index.findByTitle("Rock", Match.PREFIX).size(), is(0));
+        assertThat(index.findByTitle("", Match.PREFIX).size(), is(index.size()));
+
+    }
+
+    @Test
+    public void findByTitleSubstring() throws Exception {
+
+        List<Book> books = index.findByTitle(" by ");
+        assertThat(books.size(), is(2));
+        assertThat(books.get(0).getTitle(), is("Bedrock by Night"));
+        assertThat(books.get(1).getTitle(), is("Dinosaurs by Day"));
+
+        assertThat(index.findByTitle("ROCK").size(), is(2));
+        assertThat(index.findByTitle("by").size(), is(2));
+        assertThat(index.findByTitle("Pterodactyl").size(), is(0));
+
+    }
+
+    // Private Methods -------------------------------------------------------
+
+    private List<Book> newBooks() {
+        List<Book> books = new ArrayList<>();
+        for (String title : new String[] {
+                "Bedrock by Night",
+                "Dinosaurs by Day",
+                "The Rock Quarry",
+                "The Stone Age" }) {
+            books.add(new Book(1L, Book.Location.OTHER, null, false, title));
+        }
+        return books;
+    }
+
+}
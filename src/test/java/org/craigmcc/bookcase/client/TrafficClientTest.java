@@ -0,0 +1,91 @@
+/*
+ * Copyright 2020 craigmcc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.craigmcc.bookcase.client;
+
+import org.craigmcc.bookcase.model.Author;
+import org.craigmcc.bookcase.model.Series;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static java.lang.Boolean.TRUE;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+
+public class TrafficClientTest extends AbstractClientTest {
+
+    // Instance Variables ----------------------------------------------------
+
+    private final AuthorClient authorClient = new AuthorClient();
+    private final MemberClient memberClient = new MemberClient();
+    private final SeriesClient seriesClient = new SeriesClient();
+
+    // Lifecycle Methods -----------------------------------------------------
+
+    @Before
+    public void before() {
+        if ((depopulateEnabled == null) || (TRUE == depopulateEnabled)) {
+            depopulate();
+        }
+        if ((populateEnabled == null) || (TRUE == populateEnabled)) {
+            populate();
+        }
+    }
+
+    // Test Methods ----------------------------------------------------------
+
+    // replay() tests
+
+    @Test
+    public void replayHappy() throws Exception {
+
+        Path log = Files.createTempFile("bookcase-traffic", ".log");
+        try {
+
+            int recorded = 0;
+            try (TrafficRecorder recorder = new TrafficRecorder(log)) {
+                List<Author> authors = recorder.findAll(authorClient);
+                recorded++;
+                for (Author author : authors) {
+                    recorder.find(authorClient, author.getId());
+                    recorded++;
+                }
+                List<Series> serieses = recorder.findAll(seriesClient);
+                recorded++;
+                for (Series series : serieses) {
+                    recorder.findBySeriesId(memberClient, series.getId());
+                    recorded++;
+                }
+            }
+            assertThat(recorded, is(greaterThan(2)));
+            assertThat(Files.readAllLines(log).size(), is(recorded));
+
+            TrafficReplayer replayer = new TrafficReplayer(Double.POSITIVE_INFINITY);
+            replayer.replay(log);
+            assertThat(replayer.getCalls(), is(recorded));
+            assertThat(replayer.getFailures(), is(0));
+
+        } finally {
+            Files.delete(log);
+        }
+
+    }
+
+}
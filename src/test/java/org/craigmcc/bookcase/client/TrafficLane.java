@@ -0,0 +1,152 @@
+/*
+ * Copyright 2020 craigmcc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.craigmcc.bookcase.client;
+
+import org.glassfish.jersey.client.ClientConfig;
+import org.glassfish.jersey.client.ClientProperties;
+
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.ClientBuilder;
+import javax.ws.rs.client.WebTarget;
+import java.io.Closeable;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.net.http.HttpTimeoutException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Named class of client traffic with its own connection pool,
+ * concurrency cap, and timeout, so that bulk work (such as
+ * <code>DevModeClient.populate()</code> or large <code>findAll()</code>
+ * exports) never starves latency sensitive calls such as
+ * <code>find(id)</code> made from the same JVM.</p>
+ *
+ * <p>Requests built from {@link #target} use this lane's connection pool
+ * and connect and read timeouts, so a slow request is abandoned by the
+ * connector itself.  Calls made through {@link #call} count against this
+ * lane's cap, waiting no longer than its timeout for a slot, and run on
+ * the calling thread.</p>
+ */
+public class TrafficLane implements Closeable {
+
+    // Constructors ----------------------------------------------------------
+
+    public TrafficLane(String name, int maxConcurrent, long timeoutMillis) {
+        this.limiter = new ConcurrencyLimiter(maxConcurrent, maxConcurrent, maxConcurrent,
+                timeoutMillis);
+        this.name = name;
+        this.timeoutMillis = timeoutMillis;
+        int timeout = (int) Math.min(timeoutMillis, Integer.MAX_VALUE);
+        this.client = ClientBuilder.newClient(new ClientConfig()
+                .connectorProvider(new HttpClientConnectorProvider())
+                .property(ClientProperties.CONNECT_TIMEOUT, timeout)
+                .property(ClientProperties.READ_TIMEOUT, timeout));
+    }
+
+    // Instance Variables ----------------------------------------------------
+
+    private final Client client;
+    private final ConcurrencyLimiter limiter;
+    private final String name;
+    private final long timeoutMillis;
+
+    // Static Methods --------------------------------------------------------
+
+    /**
+     * <p>Return a new lane for bulk work: few calls at once, long timeout.</p>
+     */
+    public static TrafficLane bulk() {
+        return new TrafficLane("bulk", 2, TimeUnit.MINUTES.toMillis(5));
+    }
+
+    /**
+     * <p>Return a new lane for interactive work: many calls at once, short
+     * timeout.</p>
+     */
+    public static TrafficLane interactive() {
+        return new TrafficLane("interactive", 32, TimeUnit.SECONDS.toMillis(2));
+    }
+
+    // Property Methods ------------------------------------------------------
+
+    public int getInFlight() {
+        return limiter.getInFlight();
+    }
+
+    public int getMaxConcurrent() {
+        return limiter.getLimit();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getRejections() {
+        return limiter.getRejections();
+    }
+
+    public long getTimeoutMillis() {
+        return timeoutMillis;
+    }
+
+    // Public Methods --------------------------------------------------------
+
+    /**
+     * <p>Perform the specified call on the calling thread, within this
+     * lane's cap, waiting no longer than its timeout for a slot.  Requests
+     * the call builds from {@link #target} time out after this lane's
+     * timeout.</p>
+     *
+     * @param call The client call
+     *
+     * @throws Rejected if no slot became free within this lane's timeout
+     * @throws Timeout if a request of the call timed out
+     * @throws Exception if thrown by the call
+     */
+    public <T> T call(ClientCall<T> call) throws Exception {
+        try {
+            return limiter.call(call);
+        } catch (ProcessingException e) {
+            if ((e.getCause() instanceof SocketTimeoutException) ||
+                    (e.getCause() instanceof HttpTimeoutException)) {
+                throw new Timeout(e.getMessage(), e);
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public void close() {
+        client.close();
+    }
+
+    /**
+     * <p>Return a target for the specified URI that sends its requests over
+     * this lane's connection pool.</p>
+     *
+     * @param uri URI of the target
+     */
+    public WebTarget target(URI uri) {
+        return client.target(uri);
+    }
+
+    @Override
+    public String toString() {
+        return "TrafficLane[" + name + "]";
+    }
+
+}
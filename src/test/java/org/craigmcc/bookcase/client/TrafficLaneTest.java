@@ -0,0 +1,121 @@
+/*
+ * Copyright 2020 craigmcc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.craigmcc.bookcase.client;
+
+import com.sun.net.httpserver.HttpServer;
+import org.glassfish.jersey.client.ClientProperties;
+import org.junit.Test;
+
+import javax.ws.rs.client.WebTarget;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertThrows;
+
+public class TrafficLaneTest {
+
+    // Test Methods ----------------------------------------------------------
+
+    // call() tests
+
+    @Test
+    public void callIsolated() throws Exception {
+
+        try (TrafficLane bulk = new TrafficLane("bulk", 1, 100);
+             TrafficLane interactive = new TrafficLane("interactive", 4, 1000)) {
+
+            // Saturate the bulk lane
+            CountDownLatch started = new CountDownLatch(1);
+            CountDownLatch finish = new CountDownLatch(1);
+            Thread holder = new Thread(() -> {
+                try {
+                    bulk.call(() -> {
+                        started.countDown();
+                        return finish.await(5, TimeUnit.SECONDS);
+                    });
+                } catch (Exception e) {
+                    // Expected once the bulk lane times out
+                }
+            });
+            holder.start();
+            assertThat(started.await(5, TimeUnit.SECONDS), is(true));
+
+            // Bulk callers are rejected, interactive callers are not affected
+            assertThrows(Rejected.class,
+                    () -> bulk.call(() -> "bulk"));
+            assertThat(interactive.call(() -> "interactive"), is("interactive"));
+            assertThat(interactive.getRejections(), is(0L));
+
+            finish.countDown();
+            holder.join();
+
+        }
+
+    }
+
+    @Test
+    public void callTimeout() throws Exception {
+
+        // Respond only after the lane's timeout has expired
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/slow", exchange -> {
+            try {
+                Thread.sleep(2000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(204, -1);
+            exchange.close();
+        });
+        server.start();
+        try (TrafficLane lane = new TrafficLane("slow", 4, 100)) {
+            WebTarget target = lane.target(URI.create("http://localhost:" +
+                    server.getAddress().getPort() + "/slow"));
+            long start = System.nanoTime();
+            assertThrows(Timeout.class,
+                    () -> lane.call(() -> target.request().get()));
+            assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+                    is(lessThan(1000L)));
+            assertThat(lane.getInFlight(), is(0));
+        } finally {
+            server.stop(0);
+        }
+
+    }
+
+    // target() tests
+
+    @Test
+    public void targetTimeouts() throws Exception {
+
+        try (TrafficLane lane = new TrafficLane("test", 4, 1234)) {
+            WebTarget target = lane.target(URI.create("http://localhost:8080/bookcase"));
+            assertThat(target.getConfiguration().getProperty(ClientProperties.CONNECT_TIMEOUT),
+                    is(1234));
+            assertThat(target.getConfiguration().getProperty(ClientProperties.READ_TIMEOUT),
+                    is(1234));
+            assertThat(lane.getMaxConcurrent(), is(4));
+        }
+
+    }
+
+}
@@ -0,0 +1,278 @@
+/*
+ * Copyright 2020 craigmcc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.craigmcc.bookcase.client;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.craigmcc.bookcase.model.Anthology;
+import org.craigmcc.bookcase.model.Author;
+import org.craigmcc.bookcase.model.Book;
+import org.craigmcc.bookcase.model.Member;
+import org.craigmcc.bookcase.model.Series;
+import org.craigmcc.bookcase.model.Story;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>Append-only log of calls made through the entity clients, which can be
+ * re-issued later by {@link TrafficReplayer}.  Calls are made through the
+ * typed methods of this class, such as
+ * <code>recorder.find(authorClient, id)</code>, which log exactly the
+ * entity, method, and argument of the call they then perform, so the log
+ * cannot describe a different call than the one made.  Each call is
+ * written as one line holding a JSON object, so that any thread name or
+ * argument value is escaped:</p>
+ * <pre>
+ *   {"offsetMicros":123,"thread":"main","entity":"Author","method":"find","argument":1}
+ * </pre>
+ * <p>where <code>offsetMicros</code> is the time since the recorder was
+ * created, <code>entity</code> is the model class simple name (such as
+ * <code>Author</code>), <code>method</code> is the client method name (such
+ * as <code>findBySeriesId</code>), and <code>argument</code> is the id,
+ * name, or entity passed to it (<code>null</code> for
+ * <code>findAll</code>).  Each line is flushed as it is written, so a crash
+ * loses at most the call being recorded.</p>
+ */
+public class TrafficRecorder implements Closeable {
+
+    // Constructors ----------------------------------------------------------
+
+    public TrafficRecorder(Path log) throws IOException {
+        this.writer = Files.newBufferedWriter(log, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    // Manifest Constants ----------------------------------------------------
+
+    static final String ARGUMENT = "argument";
+    static final String ENTITY = "entity";
+    static final String METHOD = "method";
+    static final String OFFSET_MICROS = "offsetMicros";
+    static final String THREAD = "thread";
+
+    // Static Variables ------------------------------------------------------
+
+    static final ObjectMapper MAPPER = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    // Instance Variables ----------------------------------------------------
+
+    private final long start = System.nanoTime();
+    private final BufferedWriter writer;
+
+    // Public Methods --------------------------------------------------------
+
+    @Override
+    public synchronized void close() throws IOException {
+        writer.close();
+    }
+
+    public void delete(AnthologyClient client, Long id) throws Exception {
+        record(Anthology.class, "delete", id, () -> {
+            client.delete(id);
+            return null;
+        });
+    }
+
+    public void delete(AuthorClient client, Long id) throws Exception {
+        record(Author.class, "delete", id, () -> {
+            client.delete(id);
+            return null;
+        });
+    }
+
+    public void delete(BookClient client, Long id) throws Exception {
+        record(Book.class, "delete", id, () -> {
+            client.delete(id);
+            return null;
+        });
+    }
+
+    public void delete(MemberClient client, Long id) throws Exception {
+        record(Member.class, "delete", id, () -> {
+            client.delete(id);
+            return null;
+        });
+    }
+
+    public void delete(SeriesClient client, Long id) throws Exception {
+        record(Series.class, "delete", id, () -> {
+            client.delete(id);
+            return null;
+        });
+    }
+
+    public void delete(StoryClient client, Long id) throws Exception {
+        record(Story.class, "delete", id, () -> {
+            client.delete(id);
+            return null;
+        });
+    }
+
+    public Anthology find(AnthologyClient client, Long id) throws Exception {
+        return record(Anthology.class, "find", id, () -> client.find(id));
+    }
+
+    public Author find(AuthorClient client, Long id) throws Exception {
+        return record(Author.class, "find", id, () -> client.find(id));
+    }
+
+    public Book find(BookClient client, Long id) throws Exception {
+        return record(Book.class, "find", id, () -> client.find(id));
+    }
+
+    public Member find(MemberClient client, Long id) throws Exception {
+        return record(Member.class, "find", id, () -> client.find(id));
+    }
+
+    public Series find(SeriesClient client, Long id) throws Exception {
+        return record(Series.class, "find", id, () -> client.find(id));
+    }
+
+    public Story find(StoryClient client, Long id) throws Exception {
+        return record(Story.class, "find", id, () -> client.find(id));
+    }
+
+    public List<Anthology> findAll(AnthologyClient client) throws Exception {
+        return record(Anthology.class, "findAll", null, client::findAll);
+    }
+
+    public List<Author> findAll(AuthorClient client) throws Exception {
+        return record(Author.class, "findAll", null, client::findAll);
+    }
+
+    public List<Book> findAll(BookClient client) throws Exception {
+        return record(Book.class, "findAll", null, client::findAll);
+    }
+
+    public List<Member> findAll(MemberClient client) throws Exception {
+        return record(Member.class, "findAll", null, client::findAll);
+    }
+
+    public List<Series> findAll(SeriesClient client) throws Exception {
+        return record(Series.class, "findAll", null, client::findAll);
+    }
+
+    public List<Story> findAll(StoryClient client) throws Exception {
+        return record(Story.class, "findAll", null, client::findAll);
+    }
+
+    public List<Story> findByAnthologyId(StoryClient client, Long anthologyId)
+            throws Exception {
+        return record(Story.class, "findByAnthologyId", anthologyId,
+                () -> client.findByAnthologyId(anthologyId));
+    }
+
+    public List<Author> findByName(AuthorClient client, String name) throws Exception {
+        return record(Author.class, "findByName", name, () -> client.findByName(name));
+    }
+
+    public List<Member> findBySeriesId(MemberClient client, Long seriesId)
+            throws Exception {
+        return record(Member.class, "findBySeriesId", seriesId,
+                () -> client.findBySeriesId(seriesId));
+    }
+
+    public Anthology insert(AnthologyClient client, Anthology anthology) throws Exception {
+        return record(Anthology.class, "insert", anthology, () -> client.insert(anthology));
+    }
+
+    public Author insert(AuthorClient client, Author author) throws Exception {
+        return record(Author.class, "insert", author, () -> client.insert(author));
+    }
+
+    public Book insert(BookClient client, Book book) throws Exception {
+        return record(Book.class, "insert", book, () -> client.insert(book));
+    }
+
+    public Member insert(MemberClient client, Member member) throws Exception {
+        return record(Member.class, "insert", member, () -> client.insert(member));
+    }
+
+    public Series insert(SeriesClient client, Series series) throws Exception {
+        return record(Series.class, "insert", series, () -> client.insert(series));
+    }
+
+    public Story insert(StoryClient client, Story story) throws Exception {
+        return record(Story.class, "insert", story, () -> client.insert(story));
+    }
+
+    public Anthology update(AnthologyClient client, Anthology anthology) throws Exception {
+        return record(Anthology.class, "update", anthology, () -> client.update(anthology.getId(), anthology));
+    }
+
+    public Author update(AuthorClient client, Author author) throws Exception {
+        return record(Author.class, "update", author, () -> client.update(author.getId(), author));
+    }
+
+    public Book update(BookClient client, Book book) throws Exception {
+        return record(Book.class, "update", book, () -> client.update(book.getId(), book));
+    }
+
+    public Member update(MemberClient client, Member member) throws Exception {
+        return record(Member.class, "update", member, () -> client.update(member.getId(), member));
+    }
+
+    public Series update(SeriesClient client, Series series) throws Exception {
+        return record(Series.class, "update", series, () -> client.update(series.getId(), series));
+    }
+
+    public Story update(StoryClient client, Story story) throws Exception {
+        return record(Story.class, "update", story, () -> client.update(story.getId(), story));
+    }
+
+    // Package Methods -------------------------------------------------------
+
+    /**
+     * <p>Log the specified call, then perform it and return its result.</p>
+     *
+     * @param entity Model class the client manages (such as
+     *               <code>Author.class</code>)
+     * @param method Name of the client method (such as "find")
+     * @param argument Argument passed to the method, or <code>null</code>
+     * @param call The call itself, which must match the other arguments
+     *
+     * @throws Exception if thrown by the call
+     */
+    <T> T record(Class<?> entity, String method, Object argument,
+                 ClientCall<T> call) throws Exception {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put(OFFSET_MICROS, (System.nanoTime() - start) / 1000L);
+        fields.put(THREAD, Thread.currentThread().getName());
+        fields.put(ENTITY, entity.getSimpleName());
+        fields.put(METHOD, method);
+        fields.put(ARGUMENT, argument);
+        String line = MAPPER.writeValueAsString(fields);
+        synchronized (this) {
+            writer.write(line);
+            writer.newLine();
+            writer.flush();
+        }
+        return call.call();
+    }
+
+}
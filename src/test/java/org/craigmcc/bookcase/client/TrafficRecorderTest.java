@@ -0,0 +1,68 @@
+/*
+ * Copyright 2020 craigmcc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.craigmcc.bookcase.client;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.craigmcc.bookcase.model.Author;
+import org.junit.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.craigmcc.bookcase.client.TrafficRecorder.MAPPER;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class TrafficRecorderTest {
+
+    // Test Methods ----------------------------------------------------------
+
+    // record() tests
+
+    @Test
+    public void recordEscaped() throws Exception {
+
+        Path log = Files.createTempFile("bookcase-traffic", ".log");
+        try (TrafficRecorder recorder = new TrafficRecorder(log)) {
+
+            // Tabs and newlines in the thread name and argument stay on one line
+            Thread thread = new Thread(() -> {
+                try {
+                    recorder.record(Author.class, "findByName", "Fred\tFlint\nstone", () -> "result");
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            }, "worker\t1");
+            thread.start();
+            thread.join();
+
+            // Flushed before the recorder is closed
+            List<String> lines = Files.readAllLines(log);
+            assertThat(lines.size(), is(1));
+            JsonNode fields = MAPPER.readTree(lines.get(0));
+            assertThat(fields.get(TrafficRecorder.THREAD).asText(), is("worker\t1"));
+            assertThat(fields.get(TrafficRecorder.ENTITY).asText(), is("Author"));
+            assertThat(fields.get(TrafficRecorder.METHOD).asText(), is("findByName"));
+            assertThat(fields.get(TrafficRecorder.ARGUMENT).asText(), is("Fred\tFlint\nstone"));
+
+        } finally {
+            Files.delete(log);
+        }
+
+    }
+
+}
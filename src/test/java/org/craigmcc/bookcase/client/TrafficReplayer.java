@@ -0,0 +1,219 @@
+/*
+ * Copyright 2020 craigmcc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.craigmcc.bookcase.client;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.craigmcc.bookcase.model.Anthology;
+import org.craigmcc.bookcase.model.Author;
+import org.craigmcc.bookcase.model.Book;
+import org.craigmcc.bookcase.model.Member;
+import org.craigmcc.bookcase.model.Series;
+import org.craigmcc.bookcase.model.Story;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.craigmcc.bookcase.client.TrafficRecorder.ARGUMENT;
+import static org.craigmcc.bookcase.client.TrafficRecorder.ENTITY;
+import static org.craigmcc.bookcase.client.TrafficRecorder.MAPPER;
+import static org.craigmcc.bookcase.client.TrafficRecorder.METHOD;
+import static org.craigmcc.bookcase.client.TrafficRecorder.OFFSET_MICROS;
+import static org.craigmcc.bookcase.client.TrafficRecorder.THREAD;
+
+/**
+ * <p>Re-issue the calls in a log written by {@link TrafficRecorder} through
+ * the entity clients.  Calls recorded on the same thread are replayed in
+ * order on one replay thread, and calls on different threads concurrently,
+ * so the concurrency structure of the original traffic is preserved.</p>
+ *
+ * <p>The <code>speed</code> factor scales the recorded timing: 1.0 replays
+ * in real time, 10.0 ten times faster, and
+ * <code>Double.POSITIVE_INFINITY</code> as fast as possible.  Inserts
+ * create new IDs, so replayed calls that referenced recorded IDs may fail;
+ * failures are counted rather than aborting the replay.</p>
+ */
+public class TrafficReplayer {
+
+    // Constructors ----------------------------------------------------------
+
+    public TrafficReplayer(double speed) {
+        if (!(speed > 0)) {
+            throw new IllegalArgumentException("Speed must be greater than zero");
+        }
+        this.speed = speed;
+    }
+
+    // Instance Variables ----------------------------------------------------
+
+    private final AnthologyClient anthologyClient = new AnthologyClient();
+    private final AuthorClient authorClient = new AuthorClient();
+    private final BookClient bookClient = new BookClient();
+    private final AtomicInteger calls = new AtomicInteger();
+    private final AtomicInteger failures = new AtomicInteger();
+    private final MemberClient memberClient = new MemberClient();
+    private final SeriesClient seriesClient = new SeriesClient();
+    private final double speed;
+    private final StoryClient storyClient = new StoryClient();
+
+    // Property Methods ------------------------------------------------------
+
+    public int getCalls() {
+        return calls.get();
+    }
+
+    public int getFailures() {
+        return failures.get();
+    }
+
+    // Public Methods --------------------------------------------------------
+
+    /**
+     * <p>Replay the specified log, returning when every call has completed.</p>
+     *
+     * @param log Log file written by a {@link TrafficRecorder}
+     *
+     * @throws InterruptedException if interrupted while waiting
+     * @throws IOException if the log cannot be read
+     */
+    public void replay(Path log) throws InterruptedException, IOException {
+
+        Map<String, List<JsonNode>> threads = new LinkedHashMap<>();
+        for (String line : Files.readAllLines(log, StandardCharsets.UTF_8)) {
+            JsonNode fields = MAPPER.readTree(line);
+            threads.computeIfAbsent(fields.get(THREAD).asText(), k -> new ArrayList<>())
+                    .add(fields);
+        }
+
+        long start = System.nanoTime();
+        List<Thread> replayers = new ArrayList<>();
+        for (Map.Entry<String, List<JsonNode>> entry : threads.entrySet()) {
+            Thread thread = new Thread(() -> replay(start, entry.getValue()),
+                    "replay-" + entry.getKey());
+            replayers.add(thread);
+            thread.start();
+        }
+        for (Thread thread : replayers) {
+            thread.join();
+        }
+
+    }
+
+    // Private Methods -------------------------------------------------------
+
+    private void replay(long start, List<JsonNode> entries) {
+        for (JsonNode fields : entries) {
+            long due = start + (long) (TimeUnit.MICROSECONDS.toNanos(
+                    fields.get(OFFSET_MICROS).asLong()) / speed);
+            long delay = due - System.nanoTime();
+            try {
+                if (delay > 0) {
+                    TimeUnit.NANOSECONDS.sleep(delay);
+                }
+                calls.incrementAndGet();
+                invoke(fields.get(ENTITY).asText(), fields.get(METHOD).asText(),
+                        MAPPER.writeValueAsString(fields.get(ARGUMENT)));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                failures.incrementAndGet();
+            }
+        }
+    }
+
+    private void invoke(String entity, String method, String argument)
+            throws Exception {
+        switch (entity) {
+            case "Anthology":
+                switch (method) {
+                    case "delete": anthologyClient.delete(id(argument)); return;
+                    case "find": anthologyClient.find(id(argument)); return;
+                    case "findAll": anthologyClient.findAll(); return;
+                    case "insert": anthologyClient.insert(MAPPER.readValue(argument, Anthology.class)); return;
+                    case "update": Anthology anthology = MAPPER.readValue(argument, Anthology.class);
+                        anthologyClient.update(anthology.getId(), anthology); return;
+                }
+                break;
+            case "Author":
+                switch (method) {
+                    case "delete": authorClient.delete(id(argument)); return;
+                    case "find": authorClient.find(id(argument)); return;
+                    case "findAll": authorClient.findAll(); return;
+                    case "findByName": authorClient.findByName(MAPPER.readValue(argument, String.class)); return;
+                    case "insert": authorClient.insert(MAPPER.readValue(argument, Author.class)); return;
+                    case "update": Author author = MAPPER.readValue(argument, Author.class);
+                        authorClient.update(author.getId(), author); return;
+                }
+                break;
+            case "Book":
+                switch (method) {
+                    case "delete": bookClient.delete(id(argument)); return;
+                    case "find": bookClient.find(id(argument)); return;
+                    case "findAll": bookClient.findAll(); return;
+                    case "insert": bookClient.insert(MAPPER.readValue(argument, Book.class)); return;
+                    case "update": Book book = MAPPER.readValue(argument, Book.class);
+                        bookClient.update(book.getId(), book); return;
+                }
+                break;
+            case "Member":
+                switch (method) {
+                    case "delete": memberClient.delete(id(argument)); return;
+                    case "find": memberClient.find(id(argument)); return;
+                    case "findAll": memberClient.findAll(); return;
+                    case "findBySeriesId": memberClient.findBySeriesId(id(argument)); return;
+                    case "insert": memberClient.insert(MAPPER.readValue(argument, Member.class)); return;
+                    case "update": Member member = MAPPER.readValue(argument, Member.class);
+                        memberClient.update(member.getId(), member); return;
+                }
+                break;
+            case "Series":
+                switch (method) {
+                    case "delete": seriesClient.delete(id(argument)); return;
+                    case "find": seriesClient.find(id(argument)); return;
+                    case "findAll": seriesClient.findAll(); return;
+                    case "insert": seriesClient.insert(MAPPER.readValue(argument, Series.class)); return;
+                    case "update": Series series = MAPPER.readValue(argument, Series.class);
+                        seriesClient.update(series.getId(), series); return;
+                }
+                break;
+            case "Story":
+                switch (method) {
+                    case "delete": storyClient.delete(id(argument)); return;
+                    case "find": storyClient.find(id(argument)); return;
+                    case "findAll": storyClient.findAll(); return;
+                    case "findByAnthologyId": storyClient.findByAnthologyId(id(argument)); return;
+                    case "insert": storyClient.insert(MAPPER.readValue(argument, Story.class)); return;
+                    case "update": Story story = MAPPER.readValue(argument, Story.class);
+                        storyClient.update(story.getId(), story); return;
+                }
+                break;
+        }
+        throw new IllegalArgumentException("Cannot replay " + entity + "." + method);
+    }
+
+    private static Long id(String argument) throws IOException {
+        return MAPPER.readValue(argument, Long.class);
+    }
+
+}
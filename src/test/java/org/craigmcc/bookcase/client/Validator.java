@@ -0,0 +1,129 @@
+/*
+ * Copyright 2020 craigmcc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.craigmcc.bookcase.client;
+
+import org.craigmcc.bookcase.model.Anthology;
+import org.craigmcc.bookcase.model.Author;
+import org.craigmcc.bookcase.model.Book;
+import org.craigmcc.bookcase.model.Member;
+import org.craigmcc.bookcase.model.Series;
+import org.craigmcc.bookcase.model.Story;
+import org.craigmcc.library.shared.exception.BadRequest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * <p>Local check of the required-field rules that the server enforces with
+ * <code>BadRequest</code> on insert and update, so that an invalid model
+ * fails before any network I/O.  For example,
+ * <code>Validator.validate(book); bookClient.insert(book);</code>.
+ * Rules that need the database, such as an <code>authorId</code> that
+ * refers to no author, are still left to the server.</p>
+ *
+ * <p>The rules are kept in one table, {@link #required}, which is the
+ * single place to change when the server rules change (and the table the
+ * server can share if the rules move into the model module).</p>
+ */
+public class Validator {
+
+    // Manifest Constants ----------------------------------------------------
+
+    private static final Map<Class<?>, Map<String, Function<Object, Object>>> RULES =
+            new HashMap<>();
+
+    static {
+        rule(Anthology.class, "authorId", Anthology::getAuthorId);
+        rule(Anthology.class, "title", Anthology::getTitle);
+        rule(Author.class, "firstName", Author::getFirstName);
+        rule(Author.class, "lastName", Author::getLastName);
+        rule(Book.class, "authorId", Book::getAuthorId);
+        rule(Book.class, "title", Book::getTitle);
+        rule(Member.class, "bookId", Member::getBookId);
+        rule(Member.class, "seriesId", Member::getSeriesId);
+        rule(Series.class, "authorId", Series::getAuthorId);
+        rule(Series.class, "title", Series::getTitle);
+        rule(Story.class, "anthologyId", Story::getAnthologyId);
+        rule(Story.class, "bookId", Story::getBookId);
+    }
+
+    // Constructors ----------------------------------------------------------
+
+    private Validator() {
+    }
+
+    // Static Methods --------------------------------------------------------
+
+    /**
+     * <p>Return the names of the fields required by the server for the
+     * specified model class (or the nearest superclass with rules, such as
+     * the model class of a proxy), or an empty list if it has no rules.</p>
+     *
+     * @param type Model class
+     */
+    public static List<String> required(Class<?> type) {
+        Map<String, Function<Object, Object>> rules = rules(type);
+        return (rules == null) ? Collections.emptyList() : new ArrayList<>(rules.keySet());
+    }
+
+    /**
+     * <p>Check that the specified model has every required field.</p>
+     *
+     * @param model Model to be checked
+     *
+     * @throws BadRequest naming every missing field, if any
+     */
+    public static void validate(Object model) throws BadRequest {
+        Map<String, Function<Object, Object>> rules = rules(model.getClass());
+        if (rules == null) {
+            return;
+        }
+        List<String> missing = new ArrayList<>();
+        for (Map.Entry<String, Function<Object, Object>> rule : rules.entrySet()) {
+            if (rule.getValue().apply(model) == null) {
+                missing.add(rule.getKey());
+            }
+        }
+        if (!missing.isEmpty()) {
+            throw new BadRequest(model.getClass().getSimpleName() + ": " +
+                    String.join(", ", missing) + ": Is required");
+        }
+    }
+
+    // Private Methods -------------------------------------------------------
+
+    private static Map<String, Function<Object, Object>> rules(Class<?> type) {
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            Map<String, Function<Object, Object>> rules = RULES.get(current);
+            if (rules != null) {
+                return rules;
+            }
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <M> void rule(Class<M> type, String field, Function<M, Object> getter) {
+        RULES.computeIfAbsent(type, k -> new LinkedHashMap<>())
+                .put(field, (Function<Object, Object>) getter);
+    }
+
+}
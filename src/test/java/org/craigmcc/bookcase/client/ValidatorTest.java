@@ -0,0 +1,177 @@
+/*
+ * Copyright 2020 craigmcc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.craigmcc.bookcase.client;
+
+import org.craigmcc.bookcase.model.Anthology;
+import org.craigmcc.bookcase.model.Author;
+import org.craigmcc.bookcase.model.Book;
+import org.craigmcc.bookcase.model.Member;
+import org.craigmcc.bookcase.model.Series;
+import org.craigmcc.bookcase.model.Story;
+import org.craigmcc.library.shared.exception.BadRequest;
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThrows;
+
+public class ValidatorTest {
+
+    // Test Methods ----------------------------------------------------------
+
+    // required() tests
+
+    @Test
+    public void requiredHappy() throws Exception {
+        assertThat(Validator.required(Author.class), contains("firstName", "lastName"));
+        assertThat(Validator.required(Member.class), contains("bookId", "seriesId"));
+        assertThat(Validator.required(String.class), is(empty()));
+    }
+
+    @Test
+    public void requiredSubclass() throws Exception {
+        Author proxy = new Author() { };
+        assertThat(Validator.required(proxy.getClass()), contains("firstName", "lastName"));
+    }
+
+    // validate() tests
+
+    @Test
+    public void validateAnthology() throws Exception {
+
+        Anthology anthology = new Anthology();
+        anthology.setAuthorId(1L);
+        anthology.setTitle("Title");
+        Validator.validate(anthology);
+
+        // Missing authorId field
+        final Anthology anthology1 = anthology.clone();
+        anthology1.setAuthorId(null);
+        assertThrows(BadRequest.class,
+                () -> Validator.validate(anthology1));
+
+        // Missing title field
+        final Anthology anthology2 = anthology.clone();
+        anthology2.setTitle(null);
+        assertThrows(BadRequest.class,
+                () -> Validator.validate(anthology2));
+
+    }
+
+    @Test
+    public void validateAuthor() throws Exception {
+
+        Validator.validate(new Author("Fred", "Flintstone", null));
+
+        // Completely empty instance
+        BadRequest e = assertThrows(BadRequest.class,
+                () -> Validator.validate(new Author()));
+        assertThat(e.getMessage(), containsString("firstName, lastName"));
+
+        // Missing lastName field
+        final Author author = new Author("Fred", null, null);
+        assertThrows(BadRequest.class,
+                () -> Validator.validate(author));
+
+        // Subclass of the model class
+        assertThrows(BadRequest.class,
+                () -> Validator.validate(new Author() { }));
+
+    }
+
+    @Test
+    public void validateBook() throws Exception {
+
+        Book book = new Book();
+        book.setAuthorId(1L);
+        book.setTitle("Title");
+        Validator.validate(book);
+
+        // Missing authorId field
+        final Book book1 = book.clone();
+        book1.setAuthorId(null);
+        assertThrows(BadRequest.class,
+                () -> Validator.validate(book1));
+
+        // Missing title field
+        final Book book2 = book.clone();
+        book2.setTitle(null);
+        assertThrows(BadRequest.class,
+                () -> Validator.validate(book2));
+
+    }
+
+    @Test
+    public void validateMember() throws Exception {
+
+        Validator.validate(new Member(1L, 1, 2L));
+
+        // Missing bookId field
+        assertThrows(BadRequest.class,
+                () -> Validator.validate(new Member(null, 1, 2L)));
+
+        // Missing seriesId field
+        assertThrows(BadRequest.class,
+                () -> Validator.validate(new Member(1L, 1, null)));
+
+        // Ordinal is not required, as it is not for a Story
+        final Member member = new Member(1L, 1, 2L);
+        member.setOrdinal(null);
+        Validator.validate(member);
+
+    }
+
+    @Test
+    public void validateSeries() throws Exception {
+
+        Series series = new Series();
+        series.setAuthorId(1L);
+        series.setTitle("Title");
+        Validator.validate(series);
+
+        // Missing authorId field
+        final Series series1 = series.clone();
+        series1.setAuthorId(null);
+        assertThrows(BadRequest.class,
+                () -> Validator.validate(series1));
+
+        // Missing title field
+        final Series series2 = series.clone();
+        series2.setTitle(null);
+        assertThrows(BadRequest.class,
+                () -> Validator.validate(series2));
+
+    }
+
+    @Test
+    public void validateStory() throws Exception {
+
+        Validator.validate(new Story(1L, 2L, 1));
+
+        // Missing anthologyId field
+        assertThrows(BadRequest.class,
+                () -> Validator.validate(new Story(null, 2L, 1)));
+
+        // Missing bookId field
+        assertThrows(BadRequest.class,
+                () -> Validator.validate(new Story(1L, null, 1)));
+
+    }
+
+}
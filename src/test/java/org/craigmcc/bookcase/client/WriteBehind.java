@@ -0,0 +1,397 @@
+/*
+ * Copyright 2020 craigmcc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.craigmcc.bookcase.client;
+
+import org.craigmcc.library.shared.exception.BadRequest;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * <p>Asynchronous writer on top of an entity client, for ingestion work
+ * where a synchronous round trip per row is the bottleneck.  Inserts and
+ * updates are accepted immediately and written in batches, whose writes
+ * run concurrently, once {@link #getBatchSize()} writes are pending or the
+ * oldest has waited the flush interval.  An update to an id that already
+ * has an update pending replaces it, so only the latest state is
+ * written.  At most {@link #getMaxPending()} writes are held: once that
+ * many are pending, <code>insert()</code> and <code>update()</code> block
+ * until a batch has been taken, so a producer faster than the server is
+ * slowed down rather than filling the heap.</p>
+ *
+ * <p>The outcome of every accepted write, including any exception such as
+ * <code>BadRequest</code> or <code>NotUnique</code>, is reported to the
+ * {@link Outcome} passed with it.  Batches are written one at a time, so
+ * writes to the same id are never reordered.  A model missing a field
+ * required by {@link Validator} is not accepted: its outcome is reported
+ * with the <code>BadRequest</code> at once, and it never replaces a
+ * pending update.</p>
+ *
+ * @param <M> Model class being written
+ */
+public class WriteBehind<M> implements Closeable {
+
+    // Nested Interfaces -----------------------------------------------------
+
+    /**
+     * <p>Callback for the outcome of one accepted write.</p>
+     */
+    public interface Outcome<M> {
+        /**
+         * @param result Model returned by the entity client, or
+         *               <code>null</code> if the write failed
+         * @param failure Exception thrown by the entity client, or
+         *                <code>null</code> if the write succeeded
+         */
+        void completed(M result, Exception failure);
+    }
+
+    /**
+     * <p>Write performed by an entity client, such as
+     * <code>authorClient::insert</code>.</p>
+     */
+    public interface Write<M> {
+        M write(M model) throws Exception;
+    }
+
+    // Constructors ----------------------------------------------------------
+
+    /**
+     * @param insert Insert call of the entity client
+     * @param update Update call of the entity client
+     * @param id Function returning the id of a model being updated
+     * @param batchSize Maximum number of writes in one batch
+     * @param maxPending Maximum number of writes waiting to be flushed,
+     *                   at least <code>batchSize</code>
+     * @param flushMillis Longest time a write waits before being flushed
+     * @param threads Number of writes in a batch performed at once
+     */
+    public WriteBehind(Write<M> insert, Write<M> update, Function<M, Long> id,
+                       int batchSize, int maxPending, long flushMillis, int threads) {
+        if (maxPending < batchSize) {
+            throw new IllegalArgumentException("Max pending must be at least the batch size");
+        }
+        this.batchSize = batchSize;
+        this.executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.flushNanos = TimeUnit.MILLISECONDS.toNanos(flushMillis);
+        this.id = id;
+        this.insert = insert;
+        this.maxPending = maxPending;
+        this.update = update;
+        this.flusher = new Thread(this::run, "write-behind-flusher");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    // Instance Variables ----------------------------------------------------
+
+    private long batches = 0;
+    private final int batchSize;
+    private boolean closed = false;
+    private long coalesced = 0;
+    private final ExecutorService executor;
+    private final Thread flusher;
+    private final long flushNanos;
+    private boolean flushRequested = false;
+    private final Function<M, Long> id;
+    private final Write<M> insert;
+    private final int maxPending;
+    private final Map<Object, Pending> pending = new LinkedHashMap<>();
+    private final Write<M> update;
+    private long writes = 0;
+    private boolean writing = false;
+
+    // Property Methods ------------------------------------------------------
+
+    /**
+     * <p>Return the number of batches written.</p>
+     */
+    public synchronized long getBatches() {
+        return batches;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * <p>Return the number of updates replaced by a later update to the
+     * same id before being written.</p>
+     */
+    public synchronized long getCoalesced() {
+        return coalesced;
+    }
+
+    /**
+     * <p>Return the number of writes that may wait to be flushed before
+     * <code>insert()</code> and <code>update()</code> block.</p>
+     */
+    public int getMaxPending() {
+        return maxPending;
+    }
+
+    /**
+     * <p>Return the number of writes waiting to be flushed.</p>
+     */
+    public synchronized int getPending() {
+        return pending.size();
+    }
+
+    /**
+     * <p>Return the number of writes sent to the entity client.</p>
+     */
+    public synchronized long getWrites() {
+        return writes;
+    }
+
+    // Public Methods --------------------------------------------------------
+
+    /**
+     * <p>Write everything still pending, then stop.</p>
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            closed = true;
+            notifyAll();
+        }
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        executor.shutdown();
+    }
+
+    /**
+     * <p>Write everything pending now, and wait until it has been
+     * written.</p>
+     *
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public synchronized void flush() throws InterruptedException {
+        flushRequested = true;
+        notifyAll();
+        while (!pending.isEmpty() || writing) {
+            wait();
+        }
+    }
+
+    /**
+     * <p>Accept the specified model for insert, waiting while the maximum
+     * number of writes is pending.</p>
+     *
+     * @param model Model to be inserted
+     * @param outcome Callback for the outcome of the insert
+     *
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public synchronized void insert(M model, Outcome<M> outcome) throws InterruptedException {
+        if (!valid(model, outcome)) {
+            return;
+        }
+        while (pending.size() >= maxPending) {
+            awaitRoom();
+        }
+        accept(new Object(), insert, model, outcome);
+    }
+
+    /**
+     * <p>Accept the specified model for update, replacing any update to the
+     * same id that is still pending.  Every outcome passed for a replaced
+     * update is reported with the result of the write that replaced it.
+     * An update that replaces none waits while the maximum number of
+     * writes is pending.</p>
+     *
+     * @param model Model to be updated
+     * @param outcome Callback for the outcome of the update
+     *
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public synchronized void update(M model, Outcome<M> outcome) throws InterruptedException {
+        if (closed) {
+            throw new IllegalStateException("WriteBehind is closed");
+        }
+        if (!valid(model, outcome)) {
+            return;
+        }
+        Long key = id.apply(model);
+        while (true) {
+            Pending existing = pending.get(key);
+            if (existing != null) {
+                existing.model = model;
+                existing.outcomes.add(outcome);
+                coalesced++;
+                return;
+            }
+            if (pending.size() < maxPending) {
+                break;
+            }
+            awaitRoom();
+        }
+        accept(key, update, model, outcome);
+    }
+
+    // Private Methods -------------------------------------------------------
+
+    private void accept(Object key, Write<M> write, M model, Outcome<M> outcome) {
+        if (closed) {
+            throw new IllegalStateException("WriteBehind is closed");
+        }
+        pending.put(key, new Pending(write, model, outcome));
+        if (pending.size() >= batchSize) {
+            notifyAll();
+        }
+    }
+
+    /**
+     * <p>Wait until a batch has been taken from the pending writes (or this
+     * writer is closed), asking the flusher to take one now.</p>
+     */
+    private void awaitRoom() throws InterruptedException {
+        if (closed) {
+            throw new IllegalStateException("WriteBehind is closed");
+        }
+        notifyAll();
+        wait();
+    }
+
+    private void complete(Pending item, M result, Exception failure) {
+        for (Outcome<M> outcome : item.outcomes) {
+            try {
+                outcome.completed(result, failure);
+            } catch (RuntimeException e) {
+                // An outcome callback must not stop the remaining writes
+            }
+        }
+    }
+
+    private void run() {
+        while (true) {
+            List<Pending> batch = take();
+            if (batch == null) {
+                return;
+            }
+            List<Future<?>> futures = new ArrayList<>(batch.size());
+            for (Pending item : batch) {
+                futures.add(executor.submit(() -> {
+                    try {
+                        complete(item, item.write.write(item.model), null);
+                    } catch (Exception e) {
+                        complete(item, null, e);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (Exception e) {
+                    // Outcomes have already been reported
+                }
+            }
+            synchronized (this) {
+                writing = false;
+                notifyAll();
+            }
+        }
+    }
+
+    /**
+     * <p>Wait until a batch is due, then remove it from the pending writes
+     * and return it, or return <code>null</code> once closed and drained.</p>
+     */
+    private synchronized List<Pending> take() {
+        while (true) {
+            if (!pending.isEmpty()) {
+                long waited = System.nanoTime() - pending.values().iterator().next().accepted;
+                if (closed || flushRequested || (pending.size() >= batchSize) ||
+                        (waited >= flushNanos)) {
+                    break;
+                }
+                try {
+                    TimeUnit.NANOSECONDS.timedWait(this, flushNanos - waited);
+                } catch (InterruptedException e) {
+                    closed = true;
+                }
+            } else if (closed) {
+                return null;
+            } else {
+                flushRequested = false;
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    closed = true;
+                }
+            }
+        }
+        List<Pending> batch = new ArrayList<>(Math.min(batchSize, pending.size()));
+        Iterator<Pending> items = pending.values().iterator();
+        while (items.hasNext() && (batch.size() < batchSize)) {
+            batch.add(items.next());
+            items.remove();
+        }
+        notifyAll();
+        batches++;
+        writes += batch.size();
+        writing = true;
+        return batch;
+    }
+
+    /**
+     * <p>Return whether the specified model passes {@link Validator}, or
+     * report its outcome with the <code>BadRequest</code> if not.</p>
+     */
+    private boolean valid(M model, Outcome<M> outcome) {
+        try {
+            Validator.validate(model);
+            return true;
+        } catch (BadRequest e) {
+            outcome.completed(null, e);
+            return false;
+        }
+    }
+
+    // Private Classes -------------------------------------------------------
+
+    private class Pending {
+
+        Pending(Write<M> write, M model, Outcome<M> outcome) {
+            this.model = model;
+            this.outcomes.add(outcome);
+            this.write = write;
+        }
+
+        final long accepted = System.nanoTime();
+        M model;
+        final List<Outcome<M>> outcomes = new ArrayList<>();
+        final Write<M> write;
+
+    }
+
+}
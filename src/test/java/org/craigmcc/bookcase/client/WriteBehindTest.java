@@ -0,0 +1,234 @@
+/*
+ * Copyright 2020 craigmcc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.craigmcc.bookcase.client;
+
+import org.craigmcc.bookcase.model.Author;
+import org.craigmcc.library.shared.exception.BadRequest;
+import org.craigmcc.library.shared.exception.NotUnique;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThrows;
+
+public class WriteBehindTest {
+
+    // Instance Variables ----------------------------------------------------
+
+    // Models are "id:value" strings, written to this list
+    private final List<String> written = new CopyOnWriteArrayList<>();
+
+    // Test Methods ----------------------------------------------------------
+
+    // close() tests
+
+    @Test
+    public void closeDrains() throws Exception {
+
+        WriteBehind<String> writer = writer(100, 10_000);
+        writer.insert("1:a", (result, failure) -> {});
+        writer.insert("2:b", (result, failure) -> {});
+        writer.close();
+        assertThat(written, containsInAnyOrder("1:a", "2:b"));
+        assertThrows(IllegalStateException.class,
+                () -> writer.insert("3:c", (result, failure) -> {}));
+
+    }
+
+    // constructor tests
+
+    @Test
+    public void constructorInvalidMaxPending() throws Exception {
+        assertThrows(IllegalArgumentException.class,
+                () -> new WriteBehind<String>(model -> model, model -> model,
+                        model -> 1L, 10, 5, 10_000, 1));
+    }
+
+    // flush() tests
+
+    @Test
+    public void flushBySize() throws Exception {
+
+        try (WriteBehind<String> writer = writer(3, 10_000)) {
+            CountDownLatch latch = new CountDownLatch(3);
+            for (int i = 1; i <= 3; i++) {
+                writer.insert(i + ":v", (result, failure) -> latch.countDown());
+            }
+            assertThat(latch.await(5, TimeUnit.SECONDS), is(true));
+            assertThat(writer.getBatches(), is(1L));
+            assertThat(writer.getWrites(), is(3L));
+        }
+
+    }
+
+    @Test
+    public void flushByTime() throws Exception {
+
+        try (WriteBehind<String> writer = writer(100, 50)) {
+            CountDownLatch latch = new CountDownLatch(1);
+            writer.insert("1:v", (result, failure) -> latch.countDown());
+            assertThat(latch.await(5, TimeUnit.SECONDS), is(true));
+            assertThat(writer.getPending(), is(0));
+        }
+
+    }
+
+    // insert() tests
+
+    @Test
+    public void insertBlocked() throws Exception {
+
+        CountDownLatch release = new CountDownLatch(1);
+        WriteBehind.Write<String> write = model -> {
+            release.await();
+            written.add(model);
+            return model;
+        };
+        try (WriteBehind<String> writer = new WriteBehind<>(write, write,
+                model -> Long.valueOf(model.split(":")[0]), 1, 2, 10_000, 1)) {
+
+            // The first write is taken and stalls, the next two fill the pending writes
+            for (int i = 1; i <= 3; i++) {
+                writer.insert(i + ":v", (result, failure) -> {});
+            }
+            Thread producer = new Thread(() -> {
+                try {
+                    writer.insert("4:v", (result, failure) -> {});
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            producer.start();
+            producer.join(200);
+            assertThat(producer.isAlive(), is(true));
+            assertThat(writer.getPending(), is(2));
+
+            release.countDown();
+            producer.join(5000);
+            assertThat(producer.isAlive(), is(false));
+            writer.flush();
+            assertThat(written, containsInAnyOrder("1:v", "2:v", "3:v", "4:v"));
+        }
+
+    }
+
+    @Test
+    public void insertFailures() throws Exception {
+
+        try (WriteBehind<String> writer = writer(100, 10_000)) {
+            List<Exception> failures = new CopyOnWriteArrayList<>();
+            List<String> results = new CopyOnWriteArrayList<>();
+            for (String model : new String[] { "1:ok", "2:bad", "3:duplicate" }) {
+                writer.insert(model, (result, failure) -> {
+                    if (failure != null) {
+                        failures.add(failure);
+                    } else {
+                        results.add(result);
+                    }
+                });
+            }
+            writer.flush();
+            assertThat(results, contains("1:ok"));
+            assertThat(failures, containsInAnyOrder(
+                    instanceOf(BadRequest.class), instanceOf(NotUnique.class)));
+        }
+
+    }
+
+    @Test
+    public void insertInvalid() throws Exception {
+
+        List<Author> inserted = new CopyOnWriteArrayList<>();
+        try (WriteBehind<Author> writer = new WriteBehind<>(
+                author -> { inserted.add(author); return author; },
+                author -> author, Author::getId, 100, 1000, 10_000, 1)) {
+            List<Exception> failures = new CopyOnWriteArrayList<>();
+            writer.insert(new Author("Invalid", null, null),
+                    (result, failure) -> failures.add(failure));
+            // Reported before the write is accepted
+            assertThat(failures.size(), is(1));
+            assertThat(failures.get(0), is(instanceOf(BadRequest.class)));
+            assertThat(writer.getPending(), is(0));
+            writer.flush();
+            assertThat(inserted.size(), is(0));
+        }
+
+    }
+
+    // update() tests
+
+    @Test
+    public void updateCoalesced() throws Exception {
+
+        try (WriteBehind<String> writer = writer(100, 10_000)) {
+            List<String> results = new CopyOnWriteArrayList<>();
+            writer.update("1:a", (result, failure) -> results.add(result));
+            writer.update("1:b", (result, failure) -> results.add(result));
+            writer.update("2:x", (result, failure) -> results.add(result));
+            writer.update("1:c", (result, failure) -> results.add(result));
+            writer.flush();
+            assertThat(written, containsInAnyOrder("1:c", "2:x"));
+            assertThat(results, containsInAnyOrder("1:c", "1:c", "1:c", "2:x"));
+            assertThat(writer.getCoalesced(), is(2L));
+            assertThat(writer.getWrites(), is(2L));
+        }
+
+    }
+
+    @Test
+    public void updateFailure() throws Exception {
+
+        try (WriteBehind<String> writer = writer(100, 10_000)) {
+            List<String> results = new CopyOnWriteArrayList<>();
+            List<Exception> failures = new CopyOnWriteArrayList<>();
+            writer.update("1:bad", (result, failure) -> {
+                results.add(result);
+                failures.add(failure);
+            });
+            writer.flush();
+            assertThat(results.get(0), is(nullValue()));
+            assertThat(failures.get(0), is(instanceOf(BadRequest.class)));
+        }
+
+    }
+
+    // Private Methods -------------------------------------------------------
+
+    private WriteBehind<String> writer(int batchSize, long flushMillis) {
+        WriteBehind.Write<String> write = model -> {
+            if (model.endsWith(":bad")) {
+                throw new BadRequest("Invalid " + model);
+            } else if (model.endsWith(":duplicate")) {
+                throw new NotUnique("Duplicate " + model);
+            }
+            written.add(model);
+            return model;
+        };
+        return new WriteBehind<>(write, write,
+                model -> Long.valueOf(model.substring(0, model.indexOf(':'))),
+                batchSize, 1000, flushMillis, 4);
+    }
+
+}